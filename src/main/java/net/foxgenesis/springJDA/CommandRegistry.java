@@ -1,16 +1,23 @@
 package net.foxgenesis.springJDA;
 
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.springframework.lang.Nullable;
+
 import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.Command.Subcommand;
+import net.dv8tion.jda.api.interactions.commands.Command.SubcommandGroup;
 
 public interface CommandRegistry extends Iterable<Command> {
 
 	default Optional<Command> getCommandByName(String name) {
-		return findCommand(command -> command.getName().equalsIgnoreCase(name));
+		return Optional.ofNullable(getCommand(name));
 	}
 
 	default Optional<Command> findCommand(Predicate<Command> filter) {
@@ -19,7 +26,123 @@ public interface CommandRegistry extends Iterable<Command> {
 				return Optional.of(command);
 		return Optional.empty();
 	}
-	
+
+	/**
+	 * Get a command by its name ignoring case. If commands of different types
+	 * share the same name, the slash command is returned.
+	 *
+	 * @param name The name of the command
+	 *
+	 * @return The command or {@code null} if no command with this name exists
+	 */
+	@Nullable
+	default Command getCommand(String name) {
+		Command found = null;
+		for (Command command : this)
+			if (command.getName().equalsIgnoreCase(name)) {
+				if (command.getType() == Command.Type.SLASH)
+					return command;
+				if (found == null)
+					found = command;
+			}
+		return found;
+	}
+
+	/**
+	 * Get a command by its type and name ignoring case.
+	 *
+	 * @param type The type of the command
+	 * @param name The name of the command
+	 *
+	 * @return The command or {@code null} if no command with this type and name
+	 *         exists
+	 */
+	@Nullable
+	default Command getCommand(Command.Type type, String name) {
+		for (Command command : this)
+			if (command.getType() == type && command.getName().equalsIgnoreCase(name))
+				return command;
+		return null;
+	}
+
+	/**
+	 * Get the id of a registered command. Unlike {@link #getCommand(Command.Type,
+	 * String)} this may be answered from cached command ids before the commands
+	 * have been retrieved from Discord.
+	 *
+	 * @param type The type of the command
+	 * @param name The name of the command, ignoring case
+	 *
+	 * @return The id or an empty optional if no command with this type and name
+	 *         exists
+	 */
+	default OptionalLong getCommandId(Command.Type type, String name) {
+		Command command = getCommand(type, name);
+		return command == null ? OptionalLong.empty() : OptionalLong.of(command.getIdLong());
+	}
+
+	/**
+	 * Get a command by its id.
+	 *
+	 * @param id The id of the command
+	 *
+	 * @return The command or {@code null} if no command with this id exists
+	 */
+	@Nullable
+	default Command getCommandById(long id) {
+		for (Command command : this)
+			if (command.getIdLong() == id)
+				return command;
+		return null;
+	}
+
+	/**
+	 * Get a subcommand by its full command name, such as {@code "mod ban"} or
+	 * {@code "mod user ban"}, ignoring case.
+	 *
+	 * @param fullCommandName The full command name as returned by
+	 *                        {@link Subcommand#getFullCommandName()}
+	 *
+	 * @return The subcommand or {@code null} if no subcommand with this path
+	 *         exists
+	 */
+	@Nullable
+	default Subcommand getSubcommand(String fullCommandName) {
+		for (Command command : this) {
+			for (Subcommand subcommand : command.getSubcommands())
+				if (subcommand.getFullCommandName().equalsIgnoreCase(fullCommandName))
+					return subcommand;
+			for (SubcommandGroup group : command.getSubcommandGroups())
+				for (Subcommand subcommand : group.getSubcommands())
+					if (subcommand.getFullCommandName().equalsIgnoreCase(fullCommandName))
+						return subcommand;
+		}
+		return null;
+	}
+
+	/**
+	 * Get a {@link CompletionStage} that completes once the global commands of
+	 * the application have been loaded. Lookups made before completion block
+	 * until the registry is ready.
+	 *
+	 * @return A stage completing with this registry once it is ready
+	 */
+	default CompletionStage<CommandRegistry> whenReady() {
+		return CompletableFuture.completedStage(this);
+	}
+
+	/**
+	 * Scan the global commands of the application again and apply the
+	 * difference to Discord. Requests made in quick succession are coalesced
+	 * into a single refresh.
+	 *
+	 * @return A stage completing with this registry once the refresh that
+	 *         includes this request is done
+	 */
+	default CompletionStage<CommandRegistry> refresh() {
+		return CompletableFuture.completedStage(this);
+	}
+
 	default Stream<Command> stream() {
 		return StreamSupport.stream(spliterator(), false);
 	}
@@ -0,0 +1,85 @@
+package net.foxgenesis.springJDA;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * Progress handle of a rolling shard restart started through
+ * {@link ShardedSpringJDA#restartRolling(int)}. Shards are restarted in waves
+ * and the next wave is only started once every shard of the previous wave has
+ * reached {@link net.dv8tion.jda.api.JDA.Status#CONNECTED CONNECTED}.
+ * 
+ * @author Ashley
+ * @see ShardedSpringJDA#restartRolling(java.util.Collection, int,
+ *      java.time.Duration)
+ */
+public interface RollingRestart {
+	/**
+	 * Maximum time a wave of {@link ShardedSpringJDA#restartRolling(int)} may
+	 * take to connect.
+	 */
+	Duration DEFAULT_WAVE_TIMEOUT = Duration.ofMinutes(5);
+
+	/**
+	 * Get the ids of all shards included in this restart in the order they are
+	 * restarted.
+	 * 
+	 * @return An unmodifiable list of shard ids
+	 */
+	@NonNull
+	List<Integer> getShards();
+
+	/**
+	 * Get the amount of shards that have been restarted and reached
+	 * {@link net.dv8tion.jda.api.JDA.Status#CONNECTED CONNECTED}.
+	 * 
+	 * @return The amount of restarted shards
+	 */
+	int getShardsRestarted();
+
+	/**
+	 * Get the total amount of waves.
+	 * 
+	 * @return The amount of waves
+	 */
+	int getWaves();
+
+	/**
+	 * Get the index of the wave that is currently restarting, starting at
+	 * {@code 0}.
+	 * 
+	 * @return The current wave
+	 */
+	int getCurrentWave();
+
+	/**
+	 * Check if this restart has completed, failed or was cancelled.
+	 * 
+	 * @return {@code true} if no further shards will be restarted
+	 */
+	boolean isDone();
+
+	/**
+	 * Stop this restart after the current wave. Shards of the current wave are
+	 * still allowed to reconnect.
+	 * 
+	 * @return {@code true} if the restart was cancelled by this call
+	 */
+	boolean cancel();
+
+	/**
+	 * Get a {@link CompletionStage} that completes once every wave has been
+	 * restarted. The stage completes exceptionally with a
+	 * {@link java.util.concurrent.TimeoutException TimeoutException} if a wave
+	 * did not connect in time or a
+	 * {@link java.util.concurrent.CancellationException CancellationException} if
+	 * the restart was cancelled.
+	 * 
+	 * @return A stage that completes once all shards have been restarted
+	 */
+	@NonNull
+	CompletionStage<Void> whenComplete();
+}
@@ -1,5 +1,6 @@
 package net.foxgenesis.springJDA;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -45,6 +46,8 @@ import net.dv8tion.jda.api.requests.Route;
 import net.dv8tion.jda.api.requests.restaction.CommandEditAction;
 import net.dv8tion.jda.api.requests.restaction.CommandListUpdateAction;
 import net.dv8tion.jda.api.sharding.DefaultShardManager;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import net.dv8tion.jda.api.utils.MiscUtil;
 import net.dv8tion.jda.api.utils.cache.CacheView;
 import net.dv8tion.jda.api.utils.cache.ChannelCacheView;
 import net.dv8tion.jda.api.utils.cache.ShardCacheView;
@@ -164,6 +167,59 @@ public interface ShardedSpringJDA extends SpringJDA {
 	 */
 	void removeEventListenerProvider(@NonNull IntFunction<Object> eventListenerProvider);
 
+	/**
+	 * Restarts the shard with the given id only. <br>
+	 * If there is no shard with the given Id, this method acts like
+	 * {@link ShardManager#start(int)}.
+	 *
+	 * @param shardId The id of the target shard
+	 *
+	 * @throws java.lang.IllegalArgumentException if shardId is negative or higher
+	 *                                            than maxShardId
+	 */
+	void restart(int shardId);
+
+	/**
+	 * Restarts all running shards in waves of {@code waveSize} shards. The next
+	 * wave is only restarted once every shard of the previous wave has reached
+	 * {@link JDA.Status#CONNECTED CONNECTED}, so at most {@code waveSize} shards
+	 * are offline at any time. The restart fails if a wave does not connect
+	 * within {@link RollingRestart#DEFAULT_WAVE_TIMEOUT}.
+	 *
+	 * @param waveSize The amount of shards to restart at once
+	 *
+	 * @return A {@link RollingRestart} handle to track the progress
+	 *
+	 * @throws java.lang.IllegalArgumentException If the wave size is not positive
+	 *
+	 * @see #restartRolling(Collection, int, Duration)
+	 */
+	@NonNull
+	default RollingRestart restartRolling(int waveSize) {
+		return restartRolling(getShardCache().stream().map(jda -> jda.getShardInfo().getShardId()).toList(), waveSize,
+				RollingRestart.DEFAULT_WAVE_TIMEOUT);
+	}
+
+	/**
+	 * Restarts the provided shards in waves of {@code waveSize} shards. The next
+	 * wave is only restarted once every shard of the previous wave has reached
+	 * {@link JDA.Status#CONNECTED CONNECTED}. This method does not block.
+	 *
+	 * @param shardIds    The ids of the shards to restart
+	 * @param waveSize    The amount of shards to restart at once
+	 * @param waveTimeout The maximum time to wait for a wave to connect or
+	 *                    {@code null} to wait indefinitely
+	 *
+	 * @return A {@link RollingRestart} handle to track the progress
+	 *
+	 * @throws java.lang.IllegalArgumentException If the wave size is not positive
+	 *                                            or a shard id is negative or
+	 *                                            not below the total amount of
+	 *                                            shards
+	 */
+	@NonNull
+	RollingRestart restartRolling(@NonNull Collection<Integer> shardIds, int waveSize, @Nullable Duration waveTimeout);
+
 	/**
 	 * Returns the amount of shards queued for (re)connecting.
 	 *
@@ -279,6 +335,47 @@ public interface ShardedSpringJDA extends SpringJDA {
 		return CacheView.allSnowflakes(() -> this.getShardCache().stream().map(JDA::getGuildCache));
 	}
 
+	/**
+	 * This returns the {@link net.dv8tion.jda.api.entities.Guild Guild} which has
+	 * the same id as the one provided. The guild is looked up in the cache of the
+	 * shard owning it only. <br>
+	 * If there is no connected guild with an id that matches the provided one,
+	 * then this returns {@code null}.
+	 *
+	 * @param id The id of the {@link net.dv8tion.jda.api.entities.Guild Guild}.
+	 *
+	 * @return Possibly-null {@link net.dv8tion.jda.api.entities.Guild Guild} with
+	 *         matching id.
+	 */
+	@Nullable
+	@Override
+	default Guild getGuildById(final long id) {
+		JDA shard = this.getShardForGuild(id);
+		return shard == null ? null : shard.getGuildById(id);
+	}
+
+	/**
+	 * This returns the {@link net.dv8tion.jda.api.entities.Guild Guild} which has
+	 * the same id as the one provided. The guild is looked up in the cache of the
+	 * shard owning it only. <br>
+	 * If there is no connected guild with an id that matches the provided one,
+	 * then this returns {@code null}.
+	 *
+	 * @param id The id of the {@link net.dv8tion.jda.api.entities.Guild Guild}.
+	 *
+	 * @throws java.lang.NumberFormatException If the provided {@code id} cannot
+	 *                                         be parsed by
+	 *                                         {@link Long#parseLong(String)}
+	 *
+	 * @return Possibly-null {@link net.dv8tion.jda.api.entities.Guild Guild} with
+	 *         matching id.
+	 */
+	@Nullable
+	@Override
+	default Guild getGuildById(@NonNull final String id) {
+		return this.getGuildById(MiscUtil.parseSnowflake(id));
+	}
+
 	/**
 	 * Attempts to retrieve a {@link net.dv8tion.jda.api.entities.User User} object
 	 * based on the provided id. <br>
@@ -423,7 +520,7 @@ public interface ShardedSpringJDA extends SpringJDA {
 	@Override
 	default GuildChannel getGuildChannelById(long id) {
 		GuildChannel channel;
-		for (JDA shard : getShards()) {
+		for (JDA shard : getShardCache()) {
 			channel = shard.getGuildChannelById(id);
 			if (channel != null)
 				return channel;
@@ -437,7 +534,7 @@ public interface ShardedSpringJDA extends SpringJDA {
 	default GuildChannel getGuildChannelById(@NonNull ChannelType type, long id) {
 		Checks.notNull(type, "ChannelType");
 		GuildChannel channel;
-		for (JDA shard : getShards()) {
+		for (JDA shard : getShardCache()) {
 			channel = shard.getGuildChannelById(type, id);
 			if (channel != null)
 				return channel;
@@ -526,6 +623,56 @@ public interface ShardedSpringJDA extends SpringJDA {
 		return this.getShardCache().getElementById(id);
 	}
 
+	/**
+	 * Computes the id of the shard owning a guild using
+	 * {@code (guildId >> 22) % shardsTotal}.
+	 *
+	 * @param guildId The id of the guild
+	 *
+	 * @return The id of the shard that receives the events of the guild
+	 */
+	default int getShardIdForGuild(final long guildId) {
+		int total = this.getShardsTotal();
+		// The total is unknown until the shards have been started
+		return total <= 1 ? 0 : (int) ((guildId >>> 22) % total);
+	}
+
+	/**
+	 * This returns the {@link net.dv8tion.jda.api.JDA JDA} instance owning the
+	 * guild with the provided id. The shard is computed from the guild id and
+	 * no shard cache is searched. <br>
+	 * If the owning shard is not running, this will return {@code null}.
+	 *
+	 * @param guildId The id of the guild
+	 *
+	 * @return The {@link net.dv8tion.jda.api.JDA JDA} instance owning the guild
+	 *         or {@code null} if the shard is not running
+	 */
+	@Nullable
+	default JDA getShardForGuild(final long guildId) {
+		return this.getShardById(this.getShardIdForGuild(guildId));
+	}
+
+	/**
+	 * This returns the {@link net.dv8tion.jda.api.JDA JDA} instance owning the
+	 * guild with the provided id. The shard is computed from the guild id and
+	 * no shard cache is searched. <br>
+	 * If the owning shard is not running, this will return {@code null}.
+	 *
+	 * @param guildId The id of the guild
+	 *
+	 * @throws java.lang.NumberFormatException If the provided {@code id} cannot
+	 *                                         be parsed by
+	 *                                         {@link Long#parseLong(String)}
+	 *
+	 * @return The {@link net.dv8tion.jda.api.JDA JDA} instance owning the guild
+	 *         or {@code null} if the shard is not running
+	 */
+	@Nullable
+	default JDA getShardForGuild(@NonNull final String guildId) {
+		return this.getShardForGuild(MiscUtil.parseSnowflake(guildId));
+	}
+
 	/**
 	 * Unified {@link ShardCacheView ShardCacheView} of all cached
 	 * {@link net.dv8tion.jda.api.JDA JDA} bound to this ShardManager instance.
@@ -774,7 +921,7 @@ public interface ShardedSpringJDA extends SpringJDA {
 
 	@Override
 	default RestAction<Webhook> retrieveWebhookById(String webhookId) {
-		return anyShard().retrieveWebhookById(getShardsQueued());
+		return anyShard().retrieveWebhookById(webhookId);
 	}
 	
 	@Override
@@ -804,7 +951,7 @@ public interface ShardedSpringJDA extends SpringJDA {
 
 	@Override
 	default RestAction<Void> deleteCommandById(String commandId) {
-		return anyShard().deleteCommandById(getShardsQueued());
+		return anyShard().deleteCommandById(commandId);
 	}
 
 	@Override
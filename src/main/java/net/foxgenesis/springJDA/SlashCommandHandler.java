@@ -0,0 +1,22 @@
+package net.foxgenesis.springJDA;
+
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+
+/**
+ * Handler of a single slash command path.
+ * 
+ * @author Ashley
+ * @see net.foxgenesis.springJDA.annotation.SlashHandler
+ */
+@FunctionalInterface
+public interface SlashCommandHandler {
+
+	/**
+	 * Handle a slash command interaction.
+	 * 
+	 * @param event The slash command interaction
+	 * 
+	 * @throws Exception If the command could not be handled
+	 */
+	void handle(SlashCommandInteractionEvent event) throws Exception;
+}
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import java.util.regex.Matcher;
 
 import org.springframework.lang.NonNull;
@@ -1352,4 +1353,34 @@ public interface SpringJDA extends IGuildChannelContainer<Channel> {
 	 *         operated on
 	 */
 	boolean isValid();
+
+	/**
+	 * Get a {@link CompletionStage} that completes once this {@link SpringJDA}
+	 * instance is in a semi-usable state. The stage completes after the
+	 * {@link net.foxgenesis.springJDA.event.SpringJDASemiReadyEvent
+	 * SpringJDASemiReadyEvent} has been published.
+	 * <p>
+	 * This is mainly useful when {@code spring-jda.async-start} is enabled and the
+	 * application context is refreshed before JDA is ready.
+	 * 
+	 * @return A stage that completes with this instance once semi-ready
+	 * 
+	 * @see #whenReady()
+	 */
+	@NonNull
+	CompletionStage<SpringJDA> whenSemiReady();
+
+	/**
+	 * Get a {@link CompletionStage} that completes once every shard of this
+	 * {@link SpringJDA} instance is ready. The stage completes after the
+	 * {@link net.foxgenesis.springJDA.event.SpringJDAReadyEvent
+	 * SpringJDAReadyEvent} has been published and completes exceptionally if
+	 * startup failed or timed out.
+	 * 
+	 * @return A stage that completes with this instance once ready
+	 * 
+	 * @see #whenSemiReady()
+	 */
+	@NonNull
+	CompletionStage<SpringJDA> whenReady();
 }
@@ -0,0 +1,48 @@
+package net.foxgenesis.springJDA.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean method as the candidate source of an autocomplete option. The
+ * method must not accept any parameters and must return a collection of
+ * {@link net.dv8tion.jda.api.interactions.commands.Command.Choice Choices} or
+ * {@link String Strings}.
+ * <p>
+ * The returned candidates are kept in memory and refreshed periodically.
+ * Autocomplete requests are answered with the candidates starting with the
+ * typed value.
+ * 
+ * @author Ashley
+ * @see SlashHandler
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AutocompleteHandler {
+
+	/**
+	 * The full path of the command, such as {@code "mod/ban"}.
+	 * 
+	 * @return The command path
+	 */
+	String value();
+
+	/**
+	 * The name of the autocomplete option.
+	 * 
+	 * @return The option name
+	 */
+	String option();
+
+	/**
+	 * Interval between candidate refreshes, such as {@code "5m"}. An empty string
+	 * disables periodic refreshes.
+	 * 
+	 * @return The refresh interval
+	 */
+	String refresh() default "5m";
+}
@@ -0,0 +1,23 @@
+package net.foxgenesis.springJDA.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+
+@ContextConfiguration
+public @interface GuildCommand {
+
+	/**
+	 * Ids of the guilds to register this command in. An empty array registers
+	 * the command in every guild.
+	 *
+	 * @return The guild ids of this command
+	 */
+	long[] value() default {};
+}
@@ -0,0 +1,27 @@
+package net.foxgenesis.springJDA.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a command option to a parameter of a {@link SlashHandler @SlashHandler}
+ * method or to a component of a record parameter. Parameters without this
+ * annotation are bound to the option with the same name as the parameter.
+ * 
+ * @author Ashley
+ */
+@Target({ ElementType.PARAMETER, ElementType.RECORD_COMPONENT })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Option {
+
+	/**
+	 * The name of the bound option.
+	 * 
+	 * @return The option name
+	 */
+	String value();
+}
@@ -0,0 +1,52 @@
+package net.foxgenesis.springJDA.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean method as the handler of a slash command. Each parameter of the
+ * method is bound to one of the following:
+ * <ul>
+ * <li>the
+ * {@link net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent
+ * SlashCommandInteractionEvent}, when its type accepts the event</li>
+ * <li>a command option, named by {@link Option @Option} or by the parameter
+ * name when compiled with {@code -parameters}</li>
+ * <li>a record, whose components are bound to command options the same
+ * way</li>
+ * </ul>
+ * Options bind to strings, primitives and their wrappers, users, members,
+ * roles, channels, mentionables, attachments, enums matched by lower case
+ * constant name and
+ * {@link net.dv8tion.jda.api.interactions.commands.OptionMapping
+ * OptionMapping}. Optional options that are not present are bound as
+ * {@code null} and can not be bound to primitives.
+ * <p>
+ * When the command is declared by a global command or
+ * {@link GuildCommand @GuildCommand} bean, every bound option is checked
+ * against the declared options on startup. Startup fails if an option or the
+ * subcommand of the path is not declared or the types do not match. A handler
+ * binding options to an unknown command fails startup as well unless
+ * {@code spring-jda.strict-slash-handlers} is disabled.
+ * <p>
+ * The command path consists of the command name, the optional subcommand group
+ * and the subcommand name separated by {@code /} or spaces, such as
+ * {@code "mod/ban"} or {@code "mod/user/ban"}.
+ * 
+ * @author Ashley
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SlashHandler {
+
+	/**
+	 * The full path of the handled command.
+	 * 
+	 * @return The command path
+	 */
+	String value();
+}
@@ -0,0 +1,22 @@
+package net.foxgenesis.springJDA.autoconfigure;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(ShardWatchdogConfiguration.PREFIX)
+public record ShardWatchdogConfiguration(boolean enabled, Duration checkInterval, Duration stuckTimeout,
+		Duration maxPing, Duration restartCooldown) {
+	public static final String PREFIX = "spring-jda.watchdog";
+
+	public ShardWatchdogConfiguration {
+		if (checkInterval == null)
+			checkInterval = Duration.ofSeconds(30);
+		if (stuckTimeout == null)
+			stuckTimeout = Duration.ofMinutes(5);
+		if (maxPing == null)
+			maxPing = Duration.ofSeconds(10);
+		if (restartCooldown == null)
+			restartCooldown = Duration.ofMinutes(1);
+	}
+}
@@ -14,9 +14,12 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Lazy;
@@ -35,19 +38,32 @@ import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import net.dv8tion.jda.api.requests.GatewayIntent;
 import net.dv8tion.jda.api.utils.cache.CacheFlag;
 import net.foxgenesis.springJDA.Scope;
+import net.foxgenesis.springJDA.CommandRegistry;
 import net.foxgenesis.springJDA.SpringJDA;
 import net.foxgenesis.springJDA.annotation.AutoExclude;
+import net.foxgenesis.springJDA.context.ShardedSpringJDAContext;
 import net.foxgenesis.springJDA.context.SpringJDAInitializer;
 import net.foxgenesis.springJDA.context.impl.AbstractSpringJDAContext;
 import net.foxgenesis.springJDA.context.impl.DefaultShardedSpringJDAContext;
 import net.foxgenesis.springJDA.context.impl.DefaultSingleSpringJDAContext;
+import net.foxgenesis.springJDA.impl.AbstractSpringJDA;
+import net.foxgenesis.springJDA.impl.AutocompleteEngine;
 import net.foxgenesis.springJDA.impl.CommandRegistryImpl;
+import net.foxgenesis.springJDA.impl.DefaultShardedSpringJDA;
+import net.foxgenesis.springJDA.impl.GuildCommandSync;
+import net.foxgenesis.springJDA.impl.InstrumentedSessionController;
+import net.foxgenesis.springJDA.impl.ShardWatchdog;
+import net.foxgenesis.springJDA.impl.SharedSessionController;
+import net.foxgenesis.springJDA.impl.SlashCommandDispatcher;
+import net.foxgenesis.springJDA.impl.SnowflakeIndex;
+import net.foxgenesis.springJDA.impl.UserIndex;
 import net.foxgenesis.springJDA.provider.PermissionProvider;
 import net.foxgenesis.springJDA.provider.ScopeProvider;
 
 @AutoConfiguration
 @ConditionalOnClass(JDA.class)
 @Import(CommandRegistryImpl.class)
+@EnableConfigurationProperties({ SpringJDAConfiguration.class, ShardWatchdogConfiguration.class })
 public class SpringJDAAutoConfiguration {
 	public static final String PROPERTY_USE_SHARDING = SPRING_JDA + ".use-sharding";
 
@@ -55,6 +71,14 @@ public class SpringJDAAutoConfiguration {
 
 	private static final String TOKEN_PROPERTY_KEY = SPRING_JDA + ".token";
 
+	private static final String SESSION_CONTROLLER_KEY = SPRING_JDA + ".session-controller";
+
+	private static final String SNOWFLAKE_INDEX_KEY = SPRING_JDA + ".snowflake-index";
+
+	private static final String USER_INDEX_KEY = SPRING_JDA + ".user-index";
+
+	private static final String WATCHDOG_ENABLED_KEY = ShardWatchdogConfiguration.PREFIX + ".enabled";
+
 	private static final Logger log = LoggerFactory.getLogger(SpringJDA.class);
 
 	@Lazy
@@ -78,17 +102,29 @@ public class SpringJDAAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	@SuppressWarnings({ "rawtypes", "unchecked" })
-	SpringJDA defaultJDA(AbstractSpringJDAContext context, ObjectProvider<SpringJDAInitializer> inits) {
+	SpringJDA defaultJDA(AbstractSpringJDAContext context, ObjectProvider<SpringJDAInitializer> inits,
+			SpringJDAConfiguration config, ApplicationStartup startup, ObjectProvider<SnowflakeIndex> snowflakeIndex,
+			ObjectProvider<UserIndex> userIndex) {
 		log.info("Configuring SpringJDA context");
-		StartupStep create = ApplicationStartup.DEFAULT.start("SpringJDA.create");
+		StartupStep create = startup.start("SpringJDA.create");
 		for (SpringJDAInitializer initializer : inits) {
 			Class<?> requiredType = GenericTypeResolver.resolveTypeArgument(initializer.getClass(),
 					SpringJDAInitializer.class);
-			Assert.isInstanceOf(requiredType, context, "Unable to call initializer.");
+			// Type arguments of lambda initializers can not be resolved
+			if (requiredType != null)
+				Assert.isInstanceOf(requiredType, context, "Unable to call initializer.");
 			initializer.initialize(context);
 		}
 		log.info("Finalizing SpringJDA");
-		SpringJDA jda = context.createSpringJDA();
+		AbstractSpringJDA jda = context.createSpringJDA();
+		jda.setSemiReadyTimeout(config.semiReadyTimeout());
+		jda.setReadyTimeout(config.readyTimeout());
+		jda.setAsyncStart(config.asyncStart());
+		jda.setShutdownTimeout(config.shutdownTimeout());
+		if (jda instanceof DefaultShardedSpringJDA sharded) {
+			snowflakeIndex.ifAvailable(sharded::setSnowflakeIndex);
+			userIndex.ifAvailable(sharded::setUserIndex);
+		}
 		create.end();
 		return jda;
 	}
@@ -142,6 +178,103 @@ public class SpringJDAAutoConfiguration {
 		};
 	}
 
+	@Bean
+	@ConditionalOnProperty(SESSION_CONTROLLER_KEY)
+	SpringJDAInitializer<?> sessionControllerInitializer(SpringJDAConfiguration config, ApplicationStartup startup) {
+		return context -> {
+			switch (config.sessionController()) {
+				case CONCURRENT -> {
+					log.info("Using instrumented concurrent session controller");
+					context.setSessionController(new InstrumentedSessionController(startup));
+				}
+				case SHARED -> {
+					log.info("Using shared session controller in {}", config.identifyLockDirectory());
+					context.setSessionController(
+							new SharedSessionController(startup, config.identifyLockDirectory()));
+				}
+				case DEFAULT -> {}
+			}
+		};
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	GuildCommandSync guildCommandSync(SpringJDAConfiguration config, ConfigurableListableBeanFactory factory) {
+		return new GuildCommandSync(config, factory);
+	}
+
+	@Bean
+	SpringJDAInitializer<?> guildCommandSyncInitializer(GuildCommandSync sync) {
+		return context -> context.addEventListeners(sync.getListener());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	SlashCommandDispatcher slashCommandDispatcher(ConfigurableListableBeanFactory factory, CommandRegistry registry,
+			SpringJDAConfiguration config) {
+		SlashCommandDispatcher dispatcher = new SlashCommandDispatcher(factory, registry);
+		dispatcher.setStrict(config.strictSlashHandlers());
+		return dispatcher;
+	}
+
+	@Bean
+	SpringJDAInitializer<?> slashCommandDispatcherInitializer(SlashCommandDispatcher dispatcher) {
+		return context -> context.addEventListeners(dispatcher.getListener());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	AutocompleteEngine autocompleteEngine(ConfigurableListableBeanFactory factory, CommandRegistry registry,
+			SpringJDAConfiguration config) {
+		return new AutocompleteEngine(factory, registry, config.autocompleteCollapseWindow());
+	}
+
+	@Bean
+	SpringJDAInitializer<?> autocompleteEngineInitializer(AutocompleteEngine engine) {
+		return context -> context.addEventListeners(engine.getListener());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty({ PROPERTY_USE_SHARDING, SNOWFLAKE_INDEX_KEY })
+	SnowflakeIndex snowflakeIndex() {
+		return new SnowflakeIndex();
+	}
+
+	@Bean
+	@ConditionalOnBean(SnowflakeIndex.class)
+	SpringJDAInitializer<ShardedSpringJDAContext> snowflakeIndexInitializer(SnowflakeIndex index) {
+		return context -> context.addEventListeners(index.getListener());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty({ PROPERTY_USE_SHARDING, USER_INDEX_KEY })
+	UserIndex userIndex() {
+		return new UserIndex();
+	}
+
+	@Bean
+	@ConditionalOnBean(UserIndex.class)
+	SpringJDAInitializer<ShardedSpringJDAContext> userIndexInitializer(UserIndex index) {
+		return context -> context.addEventListeners(index.getListener());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty({ PROPERTY_USE_SHARDING, WATCHDOG_ENABLED_KEY })
+	ShardWatchdog shardWatchdog(ShardWatchdogConfiguration config, ObjectProvider<SpringJDA> jda,
+			ApplicationEventPublisher publisher) {
+		log.info("Creating shard watchdog");
+		return new ShardWatchdog(config, jda, publisher);
+	}
+
+	@Bean
+	@ConditionalOnBean(ShardWatchdog.class)
+	SpringJDAInitializer<ShardedSpringJDAContext> shardWatchdogInitializer(ShardWatchdog watchdog) {
+		return context -> context.addEventListeners(watchdog.getListener());
+	}
+
 	@Bean(PERMISSIONS_BEAN_NAME)
 	@ConditionalOnMissingBean(name = PERMISSIONS_BEAN_NAME)
 	Set<Permission> perms(ConfigurableListableBeanFactory factory) {
@@ -1,9 +1,17 @@
 package net.foxgenesis.springJDA.autoconfigure;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties("spring-jda")
-public record SpringJDAConfiguration(Boolean useSharding, Boolean annotationConfiguration, boolean updateCommands, Boolean eventAutoRegister) {
+public record SpringJDAConfiguration(Boolean useSharding, Boolean annotationConfiguration, boolean updateCommands,
+		Boolean eventAutoRegister, Duration semiReadyTimeout, Duration readyTimeout, boolean asyncStart,
+		Duration shutdownTimeout, SessionControllerType sessionController, Path identifyLockDirectory,
+		Boolean commandCache, Path commandCacheDirectory, Integer commandSyncConcurrency,
+		Duration commandRegistryTimeout, Integer guildCommandSyncConcurrency, Duration autocompleteCollapseWindow,
+		Duration commandRefreshDebounce, boolean snowflakeIndex, boolean userIndex, Boolean strictSlashHandlers) {
 
 	public SpringJDAConfiguration {
 		if(useSharding == null)
@@ -12,5 +20,44 @@ public record SpringJDAConfiguration(Boolean useSharding, Boolean annotationConf
 			annotationConfiguration = true;
 		if(eventAutoRegister == null)
 			eventAutoRegister = true;
+		if (shutdownTimeout == null)
+			shutdownTimeout = Duration.ofSeconds(10);
+		if (sessionController == null)
+			sessionController = SessionControllerType.DEFAULT;
+		if (identifyLockDirectory == null)
+			identifyLockDirectory = Path.of(System.getProperty("java.io.tmpdir"), "spring-jda");
+		if (commandCache == null)
+			commandCache = true;
+		if (commandCacheDirectory == null)
+			commandCacheDirectory = Path.of(System.getProperty("java.io.tmpdir"), "spring-jda");
+		if (commandSyncConcurrency == null)
+			commandSyncConcurrency = 4;
+		if (commandRegistryTimeout == null)
+			commandRegistryTimeout = Duration.ofSeconds(30);
+		if (guildCommandSyncConcurrency == null)
+			guildCommandSyncConcurrency = 8;
+		if (autocompleteCollapseWindow == null)
+			autocompleteCollapseWindow = Duration.ofSeconds(1);
+		if (commandRefreshDebounce == null)
+			commandRefreshDebounce = Duration.ofMillis(500);
+		if (strictSlashHandlers == null)
+			strictSlashHandlers = true;
+	}
+
+	public enum SessionControllerType {
+		/**
+		 * Use the session controller provided by JDA.
+		 */
+		DEFAULT,
+		/**
+		 * Identify in parallel buckets based on {@code max_concurrency} and record
+		 * the identify queue wait of each shard.
+		 */
+		CONCURRENT,
+		/**
+		 * Same as {@link #CONCURRENT} while coordinating the identify queue with
+		 * other processes through lock files in the identify lock directory.
+		 */
+		SHARED
 	}
 }
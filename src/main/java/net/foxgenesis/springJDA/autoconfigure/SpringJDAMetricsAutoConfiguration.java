@@ -0,0 +1,99 @@
+package net.foxgenesis.springJDA.autoconfigure;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.foxgenesis.springJDA.SpringJDA;
+import net.foxgenesis.springJDA.impl.CommandStats;
+import net.foxgenesis.springJDA.impl.DefaultShardedSpringJDA;
+import net.foxgenesis.springJDA.impl.RequestCoalescer;
+import net.foxgenesis.springJDA.impl.RequestCoalescer.Lookup;
+import net.foxgenesis.springJDA.impl.SlashCommandDispatcher;
+
+/**
+ * Publishes the {@link CommandStats} of every handled slash command and the
+ * statistics of the {@link RequestCoalescer} to Micrometer. Meters read the
+ * statistics when they are published, except the execution time of commands
+ * which is recorded into a {@link Timer} on dispatch to publish its histogram.
+ *
+ * @author Ashley
+ */
+@AutoConfiguration(after = SpringJDAAutoConfiguration.class)
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+public class SpringJDAMetricsAutoConfiguration {
+	private static final String PREFIX = "spring.jda.command";
+
+	private static final String REST_PREFIX = "spring.jda.rest";
+
+	@Bean
+	@ConditionalOnBean(SlashCommandDispatcher.class)
+	MeterBinder slashCommandMetrics(SlashCommandDispatcher dispatcher) {
+		return registry -> dispatcher.addStatsListener(stats -> bind(registry, stats));
+	}
+
+	@Bean
+	@ConditionalOnBean(SpringJDA.class)
+	MeterBinder requestCoalescerMetrics(SpringJDA jda) {
+		return registry -> {
+			if (jda instanceof DefaultShardedSpringJDA sharded)
+				bind(registry, sharded.getRequestCoalescer());
+		};
+	}
+
+	private static void bind(MeterRegistry registry, RequestCoalescer coalescer) {
+		for (Lookup lookup : Lookup.values()) {
+			Tags tags = Tags.of("lookup", lookup.name().toLowerCase(Locale.ROOT));
+			FunctionCounter.builder(REST_PREFIX + ".requests", coalescer, c -> c.getExecuted(lookup)).tags(tags)
+					.description("REST lookups sent to Discord").register(registry);
+			FunctionCounter.builder(REST_PREFIX + ".coalesced", coalescer, c -> c.getCoalesced(lookup)).tags(tags)
+					.description("REST lookups that shared an identical in-flight request").register(registry);
+		}
+		Gauge.builder(REST_PREFIX + ".in-flight", coalescer, RequestCoalescer::getInFlight)
+				.description("Coalesced REST lookups currently in flight").register(registry);
+	}
+
+	private static void bind(MeterRegistry registry, CommandStats stats) {
+		Tags tags = Tags.of("command", stats.getPath());
+
+		FunctionCounter.builder(PREFIX + ".invocations", stats, CommandStats::getInvocations).tags(tags)
+				.description("Finished executions of the command").register(registry);
+		FunctionCounter.builder(PREFIX + ".errors", stats, CommandStats::getErrors).tags(tags)
+				.description("Executions of the command that threw an exception").register(registry);
+		Gauge.builder(PREFIX + ".active", stats, CommandStats::getInFlight).tags(tags)
+				.description("Executions of the command currently running").register(registry);
+
+		// Recorded on dispatch to publish a histogram of the execution time
+		Timer timer = Timer.builder(PREFIX + ".duration").tags(tags)
+				.serviceLevelObjectives(Arrays.stream(CommandStats.getBucketBounds()).mapToObj(Duration::ofNanos)
+						.toArray(Duration[]::new))
+				.description("Execution time of the command").register(registry);
+		stats.setTimeRecorder(nanos -> timer.record(nanos, TimeUnit.NANOSECONDS));
+
+		FunctionTimer.builder(PREFIX + ".response", stats, CommandStats::getAcknowledged,
+				CommandStats::getTotalResponseTime, TimeUnit.NANOSECONDS).tags(tags)
+				.description("Time from the creation of an acknowledged interaction until its handler returned, "
+						+ "including the clock skew between Discord and this host")
+				.register(registry);
+		TimeGauge.builder(PREFIX + ".response.max", stats, TimeUnit.NANOSECONDS, s -> s.getMaxResponseTime().toNanos())
+				.tags(tags)
+				.description("Maximum time from the creation of an acknowledged interaction until its handler returned")
+				.register(registry);
+		FunctionCounter.builder(PREFIX + ".unacknowledged", stats, CommandStats::getUnacknowledged).tags(tags)
+				.description("Interactions not acknowledged when the handler returned").register(registry);
+	}
+}
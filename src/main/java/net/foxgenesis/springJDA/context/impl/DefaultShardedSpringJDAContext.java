@@ -1,10 +1,13 @@
 package net.foxgenesis.springJDA.context.impl;
 
 import java.util.Collection;
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.springframework.beans.BeansException;
 import org.springframework.lang.NonNull;
@@ -29,6 +32,7 @@ import net.dv8tion.jda.api.utils.SessionController;
 import net.dv8tion.jda.api.utils.cache.CacheFlag;
 import net.foxgenesis.springJDA.context.ShardedSpringJDAContext;
 import net.foxgenesis.springJDA.impl.DefaultShardedSpringJDA;
+import net.foxgenesis.springJDA.impl.EventDrain;
 import okhttp3.OkHttpClient;
 import okhttp3.OkHttpClient.Builder;
 
@@ -40,6 +44,17 @@ import okhttp3.OkHttpClient.Builder;
 public class DefaultShardedSpringJDAContext extends AbstractSpringJDAContext implements ShardedSpringJDAContext {
 
 	protected final DefaultShardManagerBuilder builder;
+
+	protected final EventDrain eventDrain = new EventDrain();
+
+	@Nullable
+	private IntFunction<? extends IEventManager> eventManagerProvider;
+
+	/**
+	 * Shard ids passed to the builder or {@code null} to start all shards.
+	 */
+	@Nullable
+	private Set<Integer> shardIds;
 	
 	public DefaultShardedSpringJDAContext(String token) {
 		super(token);
@@ -285,7 +300,7 @@ public class DefaultShardedSpringJDAContext extends AbstractSpringJDAContext imp
 
 	@Override
 	public ShardedSpringJDAContext setEventManagerProvider(@NonNull final IntFunction<? extends IEventManager> eventManagerProvider) {
-		builder.setEventManagerProvider(eventManagerProvider);
+		this.eventManagerProvider = eventManagerProvider;
 		return this;
 	}
 
@@ -448,18 +463,22 @@ public class DefaultShardedSpringJDAContext extends AbstractSpringJDAContext imp
 	@Override
 	public ShardedSpringJDAContext setShards(final int... shardIds) {
 		builder.setShards(shardIds);
+		this.shardIds = IntStream.of(shardIds).boxed().collect(Collectors.toUnmodifiableSet());
 		return this;
 	}
 	
 	@Override
 	public ShardedSpringJDAContext setShards(final int minShardId, final int maxShardId) {
 		builder.setShards(minShardId, maxShardId);
+		this.shardIds = IntStream.rangeClosed(minShardId, maxShardId).boxed()
+				.collect(Collectors.toUnmodifiableSet());
 		return this;
 	}
 	
 	@Override
 	public ShardedSpringJDAContext setShards(@NonNull Collection<Integer> shardIds) {
 		builder.setShards(shardIds);
+		this.shardIds = Set.copyOf(shardIds);
 		return this;
 	}
 	
@@ -471,6 +490,10 @@ public class DefaultShardedSpringJDAContext extends AbstractSpringJDAContext imp
 
 	@Override
 	public DefaultShardedSpringJDA createSpringJDA() throws BeansException {
-		return new DefaultShardedSpringJDA(builder.build(false));
+		IntFunction<? extends IEventManager> provider = eventManagerProvider;
+		builder.setEventManagerProvider(id -> eventDrain.wrap(provider == null ? null : provider.apply(id)));
+		DefaultShardedSpringJDA jda = new DefaultShardedSpringJDA(builder.build(false), eventDrain);
+		jda.setShardIds(shardIds);
+		return jda;
 	}
 }
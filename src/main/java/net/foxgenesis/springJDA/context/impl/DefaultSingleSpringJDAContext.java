@@ -26,6 +26,7 @@ import net.dv8tion.jda.api.utils.SessionController;
 import net.dv8tion.jda.api.utils.cache.CacheFlag;
 import net.foxgenesis.springJDA.context.SingleSpringJDAContext;
 import net.foxgenesis.springJDA.impl.DefaultSingleSpringJDA;
+import net.foxgenesis.springJDA.impl.EventDrain;
 import okhttp3.OkHttpClient;
 import okhttp3.OkHttpClient.Builder;
 
@@ -38,6 +39,11 @@ import okhttp3.OkHttpClient.Builder;
 public class DefaultSingleSpringJDAContext extends AbstractSpringJDAContext implements SingleSpringJDAContext {
 	
 	private final JDABuilder builder;
+
+	private final EventDrain eventDrain = new EventDrain();
+
+	@Nullable
+	private IEventManager eventManager;
 	
 	public DefaultSingleSpringJDAContext(String token) {
 		super(token);
@@ -238,7 +244,7 @@ public class DefaultSingleSpringJDAContext extends AbstractSpringJDAContext impl
 	
 	@Override
 	public SingleSpringJDAContext setEventManager(@Nullable IEventManager manager) {
-		builder.setEventManager(manager);
+		this.eventManager = manager;
 		return this;
 	}
 
@@ -364,6 +370,7 @@ public class DefaultSingleSpringJDAContext extends AbstractSpringJDAContext impl
 
 	@Override
 	public DefaultSingleSpringJDA createSpringJDA() throws BeansException {
-		return new DefaultSingleSpringJDA(builder);
+		builder.setEventManager(eventDrain.wrap(eventManager));
+		return new DefaultSingleSpringJDA(builder, eventDrain);
 	}
 }
@@ -0,0 +1,29 @@
+package net.foxgenesis.springJDA.event;
+
+import net.foxgenesis.springJDA.SpringJDA;
+
+/**
+ * Event published once every shard started by this instance is ready.
+ * 
+ * @author Ashley
+ */
+public class AllShardsReadyEvent extends SpringJDAEvent {
+
+	private static final long serialVersionUID = -2938562187335044125L;
+
+	private final int shards;
+
+	public AllShardsReadyEvent(SpringJDA source, int shards) {
+		super(source);
+		this.shards = shards;
+	}
+
+	/**
+	 * Get the amount of shards that are ready.
+	 * 
+	 * @return The amount of ready shards
+	 */
+	public int getShards() {
+		return shards;
+	}
+}
@@ -0,0 +1,43 @@
+package net.foxgenesis.springJDA.event;
+
+import net.foxgenesis.springJDA.CommandRegistry;
+import net.foxgenesis.springJDA.SpringJDA;
+
+/**
+ * Event published once the {@link CommandRegistry} has loaded the global
+ * commands of the application.
+ * 
+ * @author Ashley
+ */
+public class CommandRegistryReadyEvent extends SpringJDAEvent {
+
+	private static final long serialVersionUID = 4518307295834561902L;
+
+	private final transient CommandRegistry registry;
+
+	private final int commands;
+
+	public CommandRegistryReadyEvent(SpringJDA source, CommandRegistry registry, int commands) {
+		super(source);
+		this.registry = registry;
+		this.commands = commands;
+	}
+
+	/**
+	 * Get the command registry that is now ready.
+	 * 
+	 * @return The ready command registry
+	 */
+	public CommandRegistry getRegistry() {
+		return registry;
+	}
+
+	/**
+	 * Get the amount of loaded commands.
+	 * 
+	 * @return The amount of global commands
+	 */
+	public int getCommands() {
+		return commands;
+	}
+}
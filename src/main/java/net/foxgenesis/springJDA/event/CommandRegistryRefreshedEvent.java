@@ -0,0 +1,21 @@
+package net.foxgenesis.springJDA.event;
+
+import net.foxgenesis.springJDA.CommandRegistry;
+import net.foxgenesis.springJDA.SpringJDA;
+
+/**
+ * Event published after {@link CommandRegistry#refresh()} changed the global
+ * commands of the application. Listeners of {@link CommandRegistryReadyEvent}
+ * receive this event as well, so anything built from the registry is rebuilt
+ * with the new commands.
+ * 
+ * @author Ashley
+ */
+public class CommandRegistryRefreshedEvent extends CommandRegistryReadyEvent {
+
+	private static final long serialVersionUID = -2793615120840527362L;
+
+	public CommandRegistryRefreshedEvent(SpringJDA source, CommandRegistry registry, int commands) {
+		super(source, registry, commands);
+	}
+}
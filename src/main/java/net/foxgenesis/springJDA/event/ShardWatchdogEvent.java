@@ -0,0 +1,80 @@
+package net.foxgenesis.springJDA.event;
+
+import net.dv8tion.jda.api.JDA.Status;
+import net.foxgenesis.springJDA.SpringJDA;
+
+/**
+ * Event published by the shard watchdog for every action it takes on an
+ * unhealthy shard.
+ * 
+ * @author Ashley
+ */
+public class ShardWatchdogEvent extends SpringJDAEvent {
+
+	private static final long serialVersionUID = 5016419347361252940L;
+
+	private final int shardId;
+
+	private final Status status;
+
+	private final String reason;
+
+	private final Action action;
+
+	public ShardWatchdogEvent(SpringJDA source, int shardId, Status status, String reason, Action action) {
+		super(source);
+		this.shardId = shardId;
+		this.status = status;
+		this.reason = reason;
+		this.action = action;
+	}
+
+	/**
+	 * Get the id of the unhealthy shard.
+	 * 
+	 * @return The shard id
+	 */
+	public int getShardId() {
+		return shardId;
+	}
+
+	/**
+	 * Get the status of the shard at the time it was found unhealthy.
+	 * 
+	 * @return The shard status
+	 */
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	 * Get a human readable reason why the shard was found unhealthy.
+	 * 
+	 * @return The reason
+	 */
+	public String getReason() {
+		return reason;
+	}
+
+	/**
+	 * Get the action taken by the watchdog.
+	 * 
+	 * @return The action
+	 */
+	public Action getAction() {
+		return action;
+	}
+
+	public enum Action {
+		/**
+		 * The shard was restarted.
+		 */
+		RESTARTED,
+		/**
+		 * The shard was not restarted because another restart happened within the
+		 * restart cooldown. Published once until the shard recovers or changes its
+		 * status.
+		 */
+		RATE_LIMITED
+	}
+}
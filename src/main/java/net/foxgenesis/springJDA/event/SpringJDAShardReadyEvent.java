@@ -0,0 +1,40 @@
+package net.foxgenesis.springJDA.event;
+
+import net.dv8tion.jda.api.JDA;
+import net.foxgenesis.springJDA.SpringJDA;
+
+/**
+ * Event published as soon as a single shard is ready. This event is published
+ * from the JDA event thread of the shard and may arrive in any order.
+ * 
+ * @author Ashley
+ */
+public class SpringJDAShardReadyEvent extends SpringJDAEvent {
+
+	private static final long serialVersionUID = 2306175486402817263L;
+
+	private final transient JDA shard;
+
+	public SpringJDAShardReadyEvent(SpringJDA source, JDA shard) {
+		super(source);
+		this.shard = shard;
+	}
+
+	/**
+	 * Get the shard that is now ready.
+	 * 
+	 * @return The ready {@link JDA} instance
+	 */
+	public JDA getShard() {
+		return shard;
+	}
+
+	/**
+	 * Get the id of the shard that is now ready.
+	 * 
+	 * @return The shard id
+	 */
+	public int getShardId() {
+		return shard.getShardInfo().getShardId();
+	}
+}
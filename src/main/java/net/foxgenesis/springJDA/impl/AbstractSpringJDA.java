@@ -1,16 +1,31 @@
 package net.foxgenesis.springJDA.impl;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.ApplicationStartupAware;
 import org.springframework.context.SmartLifecycle;
 import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
 
+import net.dv8tion.jda.api.JDA;
 import net.foxgenesis.springJDA.SpringJDA;
 import net.foxgenesis.springJDA.event.SpringJDAReadyEvent;
 import net.foxgenesis.springJDA.event.SpringJDASemiReadyEvent;
+import net.foxgenesis.springJDA.event.SpringJDAShardReadyEvent;
 
 /**
  * Base implementation for SpringJDA beans.
@@ -18,29 +33,138 @@ import net.foxgenesis.springJDA.event.SpringJDASemiReadyEvent;
  * @author Ashley
  */
 public abstract class AbstractSpringJDA
-		implements SpringJDA, SmartLifecycle, AutoCloseable, ApplicationEventPublisherAware {
+		implements SpringJDA, SmartLifecycle, AutoCloseable, ApplicationEventPublisherAware, ApplicationStartupAware {
 	protected final Logger logger = LoggerFactory.getLogger(SpringJDA.class);
 
+	/**
+	 * Listener used to signal startup phases. Implementations must register this
+	 * listener before any JDA instance is built.
+	 */
+	protected final ReadinessTracker readiness = new ReadinessTracker(this::onShardReady);
+
+	/**
+	 * Listener used to record the startup steps of each shard. Implementations
+	 * must register this listener before any JDA instance is built.
+	 */
+	protected final ShardStartupRecorder startupRecorder = new ShardStartupRecorder();
+
+	/**
+	 * In-flight accounting of event handlers used to drain events on shutdown.
+	 */
+	protected final EventDrain eventDrain;
+
 	protected ApplicationEventPublisher publisher;
 
+	protected ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+	@Nullable
+	private Duration semiReadyTimeout;
+
+	@Nullable
+	private Duration readyTimeout;
+
+	private boolean asyncStart;
+
+	private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+	private volatile CompletableFuture<SpringJDA> semiReadyFuture = new CompletableFuture<>();
+
+	private volatile CompletableFuture<SpringJDA> readyFuture = new CompletableFuture<>();
+
+	protected AbstractSpringJDA() {
+		this(new EventDrain());
+	}
+
+	protected AbstractSpringJDA(EventDrain eventDrain) {
+		this.eventDrain = Objects.requireNonNull(eventDrain);
+	}
+
 	@Override
 	public void start() {
-		StartupStep startup = ApplicationStartup.DEFAULT.start("SpringJDA.start");
+		StartupStep startup = applicationStartup.start("SpringJDA.start");
+		resetFutures();
+		readiness.reset();
+		startupRecorder.reset();
+		eventDrain.reset();
 
 		// Start JDA
 		startJDA();
 
-		// Wait until JDA is in a semi-usable state
-		while (!isRunning())
-			Thread.onSpinWait();
+		if (asyncStart) {
+			startAsync(startup);
+			return;
+		}
 
-		publisher.publishEvent(new SpringJDASemiReadyEvent(this));
+		try {
+			// Wait until JDA is in a semi-usable state
+			await(readiness.getSemiReady(), semiReadyTimeout, "semi-ready");
+
+			onSemiReady();
 
-		// Wait until JDA is fully ready
-		awaitReady();
+			// Wait until JDA is fully ready
+			awaitReady();
+		} catch (RuntimeException e) {
+			startup.tag("failed", e.getClass().getName()).end();
+			throw e;
+		}
 
 		startup.end();
+		onReady();
+	}
+
+	private void startAsync(StartupStep startup) {
+		logger.info("Starting asynchronously");
+		withTimeout(readiness.getSemiReady(), semiReadyTimeout)
+				// Publish semi ready
+				.thenRun(this::onSemiReady)
+				// Wait until JDA is fully ready
+				.thenCompose(v -> awaitReadyAsync())
+				// End the startup step exactly once
+				.whenComplete((v, err) -> {
+					if (err != null) {
+						Throwable cause = err instanceof CompletionException && err.getCause() != null ? err.getCause()
+								: err;
+						startup.tag("failed", cause.getClass().getName());
+					}
+					startup.end();
+				})
+				// Publish ready
+				.thenRun(this::onReady)
+				// Fail futures
+				.exceptionally(err -> {
+					logger.error("Failed to start SpringJDA", err);
+					semiReadyFuture.completeExceptionally(err);
+					readyFuture.completeExceptionally(err);
+					return null;
+				});
+	}
+
+	private void onSemiReady() {
+		publisher.publishEvent(new SpringJDASemiReadyEvent(this));
+		semiReadyFuture.complete(this);
+	}
+
+	private void onReady() {
 		publisher.publishEvent(new SpringJDAReadyEvent(this));
+		readyFuture.complete(this);
+	}
+
+	private synchronized void resetFutures() {
+		// Keep pending futures so stages obtained before start remain valid
+		if (semiReadyFuture.isDone())
+			semiReadyFuture = new CompletableFuture<>();
+		if (readyFuture.isDone())
+			readyFuture = new CompletableFuture<>();
+	}
+
+	@Override
+	public CompletionStage<SpringJDA> whenSemiReady() {
+		return semiReadyFuture.minimalCompletionStage();
+	}
+
+	@Override
+	public CompletionStage<SpringJDA> whenReady() {
+		return readyFuture.minimalCompletionStage();
 	}
 
 	/**
@@ -53,6 +177,161 @@ public abstract class AbstractSpringJDA
 	 */
 	protected abstract void awaitReady();
 
+	/**
+	 * Get a future that completes once JDA is fully ready for use. This is the
+	 * non-blocking counterpart of {@link #awaitReady()}.
+	 *
+	 * @return A future that completes once JDA is fully ready
+	 */
+	protected abstract CompletableFuture<Void> awaitReadyAsync();
+
+	/**
+	 * Gracefully shut down the provided shards. New gateway events are dropped
+	 * while in-flight event handlers are given time to finish. The shards are then
+	 * shut down, allowing queued requests to complete. Once the shutdown timeout
+	 * has passed, all remaining requests are cancelled.
+	 *
+	 * @param shards   The shards to drain
+	 * @param shutdown Action used to shut down all shards
+	 */
+	protected void drain(Collection<JDA> shards, Runnable shutdown) {
+		long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+		int cancelled = 0;
+		boolean idle = false;
+
+		try {
+			// Stop accepting new events and wait for in-flight handlers
+			logger.info("Draining {} in-flight events", eventDrain.getInFlight());
+			eventDrain.startDrain();
+			idle = eventDrain.awaitIdle(remaining(deadline));
+
+			// Allow queued requests to finish
+			shutdown.run();
+			for (JDA jda : shards) {
+				if (!jda.awaitShutdown(remaining(deadline))) {
+					cancelled += jda.cancelRequests(); // Cancel all remaining requests
+					jda.shutdownNow();
+				}
+			}
+
+			// Wait until shutdown is complete (indefinitely)
+			for (JDA jda : shards)
+				jda.awaitShutdown();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.warn("Interrupted while waiting for shutdown", e);
+			shards.forEach(JDA::shutdownNow);
+		}
+
+		if (idle && cancelled == 0 && eventDrain.getDropped() == 0)
+			logger.info("Drained all events and requests");
+		else
+			logger.warn("Drain incomplete after {}: {} events dropped, {} handlers still running, {} requests cancelled",
+					shutdownTimeout, eventDrain.getDropped(), eventDrain.getInFlight(), cancelled);
+	}
+
+	private static Duration remaining(long deadline) {
+		return Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+	}
+
+	/**
+	 * Called from the event thread of a shard as soon as it is ready.
+	 *
+	 * @param shard The shard that is now ready
+	 */
+	protected void onShardReady(JDA shard) {
+		publisher.publishEvent(new SpringJDAShardReadyEvent(this, shard));
+	}
+
+	/**
+	 * Block the current thread until the provided startup phase completes.
+	 *
+	 * @param future  The future of the startup phase
+	 * @param timeout The maximum time to wait or {@code null} to wait
+	 *                indefinitely
+	 * @param phase   Name of the phase used in error messages
+	 *
+	 * @throws BeanCreationException If the phase failed, timed out or the thread
+	 *                               was interrupted
+	 */
+	protected void await(CompletableFuture<?> future, @Nullable Duration timeout, String phase) {
+		try {
+			if (timeout == null)
+				future.get();
+			else
+				future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BeanCreationException("Interrupted while waiting for SpringJDA to be " + phase, e);
+		} catch (ExecutionException e) {
+			throw new BeanCreationException("Failed to start SpringJDA", e.getCause());
+		} catch (TimeoutException e) {
+			throw new BeanCreationException("SpringJDA was not " + phase + " within " + timeout, e);
+		}
+	}
+
+	/**
+	 * Create a copy of the provided future that fails with a
+	 * {@link TimeoutException} if it does not complete in time.
+	 *
+	 * @param <T>     The result type of the future
+	 * @param future  The future to copy
+	 * @param timeout The maximum time to wait or {@code null} to wait
+	 *                indefinitely
+	 *
+	 * @return A copy of the future with the timeout applied
+	 */
+	protected static <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future, @Nullable Duration timeout) {
+		CompletableFuture<T> copy = future.copy();
+		return timeout == null ? copy : copy.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Set whether {@link #start()} should return immediately instead of blocking
+	 * until JDA is ready. Startup progress can then be observed through
+	 * {@link #whenSemiReady()} and {@link #whenReady()}.
+	 *
+	 * @param asyncStart {@code true} to start without blocking
+	 */
+	public void setAsyncStart(boolean asyncStart) {
+		this.asyncStart = asyncStart;
+	}
+
+	/**
+	 * Set the deadline for draining in-flight events and requests on shutdown.
+	 *
+	 * @param timeout The maximum time to wait before remaining requests are
+	 *                cancelled
+	 */
+	public void setShutdownTimeout(Duration timeout) {
+		this.shutdownTimeout = Objects.requireNonNull(timeout);
+	}
+
+	/**
+	 * Set the maximum time to wait for the first shard to be created.
+	 *
+	 * @param timeout The maximum time to wait or {@code null} to wait
+	 *                indefinitely
+	 */
+	public void setSemiReadyTimeout(@Nullable Duration timeout) {
+		this.semiReadyTimeout = timeout;
+	}
+
+	/**
+	 * Set the maximum time to wait for all shards to be ready.
+	 *
+	 * @param timeout The maximum time to wait or {@code null} to wait
+	 *                indefinitely
+	 */
+	public void setReadyTimeout(@Nullable Duration timeout) {
+		this.readyTimeout = timeout;
+	}
+
+	@Nullable
+	protected Duration getReadyTimeout() {
+		return readyTimeout;
+	}
+
 	@Override
 	public int getPhase() {
 		return 0;
@@ -63,4 +342,10 @@ public abstract class AbstractSpringJDA
 		this.publisher = applicationEventPublisher;
 	}
 
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		this.applicationStartup = applicationStartup;
+		this.startupRecorder.setApplicationStartup(applicationStartup);
+	}
+
 }
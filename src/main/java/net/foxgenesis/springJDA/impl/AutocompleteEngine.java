@@ -0,0 +1,352 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.foxgenesis.springJDA.CommandRegistry;
+import net.foxgenesis.springJDA.annotation.AutocompleteHandler;
+import net.foxgenesis.springJDA.event.CommandRegistryReadyEvent;
+
+/**
+ * Answers autocomplete interactions from in-memory candidate indexes.
+ * <p>
+ * Every {@link AutocompleteHandler @AutocompleteHandler} method is a source of
+ * candidates for a single command option. Candidates are loaded in the
+ * background on start, refreshed on the interval of the handler and on demand
+ * through {@link #refresh(String, String)}. Requests are answered with the
+ * first {@value OptionData#MAX_CHOICES} candidates starting with the typed
+ * value. A request repeating the previous request of the same user within the
+ * collapse window reuses the previous answer.
+ *
+ * @author Ashley
+ */
+public class AutocompleteEngine implements SmartInitializingSingleton, SmartLifecycle,
+		ApplicationListener<CommandRegistryReadyEvent> {
+	private final Logger logger = LoggerFactory.getLogger(CommandRegistry.class);
+
+	private final ConfigurableListableBeanFactory ctx;
+
+	private final CommandRegistry registry;
+
+	private final Duration collapseWindow;
+
+	/**
+	 * Candidate sources by command path and option name.
+	 */
+	private final Map<String, Map<String, Source>> sources = new HashMap<>();
+
+	private final Map<Long, Answer> lastAnswers = new ConcurrentHashMap<>();
+
+	private final LongAdder requests = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder collapsed = new LongAdder();
+
+	private final LongAdder latency = new LongAdder();
+
+	private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+	private final ListenerAdapter listener = new ListenerAdapter() {
+		@Override
+		public void onCommandAutoCompleteInteraction(CommandAutoCompleteInteractionEvent event) {
+			complete(event);
+		}
+	};
+
+	private ScheduledExecutorService executor;
+
+	public AutocompleteEngine(@NonNull ConfigurableListableBeanFactory ctx, @NonNull CommandRegistry registry,
+			@NonNull Duration collapseWindow) {
+		this.ctx = Objects.requireNonNull(ctx);
+		this.registry = Objects.requireNonNull(registry);
+		this.collapseWindow = Objects.requireNonNull(collapseWindow);
+	}
+
+	/**
+	 * Get the event listener that must be registered on every shard.
+	 *
+	 * @return The autocomplete listener of this engine
+	 */
+	@NonNull
+	public Object getListener() {
+		return listener;
+	}
+
+	/**
+	 * Reload the candidates of an option.
+	 *
+	 * @param path   The command path such as {@code "mod/ban"}
+	 * @param option The name of the option
+	 *
+	 * @throws IllegalArgumentException If the option has no
+	 *                                  {@link AutocompleteHandler}
+	 */
+	public void refresh(@NonNull String path, @NonNull String option) {
+		Map<String, Source> options = sources.get(SlashCommandDispatcher.normalize(path));
+		Source source = options != null ? options.get(option) : null;
+		if (source == null)
+			throw new IllegalArgumentException("No autocomplete handler for option '" + option + "' of " + path);
+		source.refresh();
+	}
+
+	/**
+	 * Get the statistics of all autocomplete requests.
+	 *
+	 * @return The current statistics
+	 */
+	@NonNull
+	public Stats getStats() {
+		long requests = this.requests.sum();
+		return new Stats(requests, misses.sum(), collapsed.sum(),
+				Duration.ofNanos(requests == 0 ? 0 : latency.sum() / requests), Duration.ofNanos(maxLatency.get()));
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		for (String name : ctx.getBeanNamesForType(Object.class)) {
+			Class<?> type = ctx.getType(name);
+			if (type == null || !ctx.isSingleton(name))
+				continue;
+
+			// Find @AutocompleteHandler methods
+			Map<Method, AutocompleteHandler> methods = MethodIntrospector.selectMethods(ClassUtils.getUserClass(type),
+					(MethodIntrospector.MetadataLookup<AutocompleteHandler>) method -> AnnotatedElementUtils
+							.findMergedAnnotation(method, AutocompleteHandler.class));
+			if (methods.isEmpty())
+				continue;
+
+			Object bean = ctx.getBean(name);
+			methods.forEach((method, annotation) -> {
+				if (method.getParameterCount() != 0 || !Collection.class.isAssignableFrom(method.getReturnType()))
+					throw new BeanInitializationException("@AutocompleteHandler method " + method
+							+ " must not accept parameters and return a Collection");
+
+				String path = SlashCommandDispatcher.normalize(annotation.value());
+				Duration refresh = annotation.refresh().isBlank() ? null
+						: DurationStyle.detectAndParse(annotation.refresh());
+				Source source = new Source(path, annotation.option(), bean,
+						AopUtils.selectInvocableMethod(method, bean.getClass()), refresh);
+
+				if (sources.computeIfAbsent(path, p -> new HashMap<>()).putIfAbsent(annotation.option(), source) != null)
+					throw new BeanInitializationException("Option '" + annotation.option() + "' of '" + path
+							+ "' already has an autocomplete handler");
+			});
+		}
+	}
+
+	@Override
+	public void onApplicationEvent(CommandRegistryReadyEvent event) {
+		ScheduledExecutorService executor;
+		synchronized (this) {
+			executor = this.executor;
+		}
+		if (executor == null)
+			return;
+
+		// Registry lookups may block, check off the publishing thread
+		registry.whenReady().thenRunAsync(this::checkOptions, executor);
+	}
+
+	/**
+	 * Verify that each handled option exists and uses autocomplete.
+	 */
+	private void checkOptions() {
+		sources.forEach((path, options) -> options.forEach((option, source) -> {
+			List<Command.Option> declared = getOptions(path);
+			if (declared == null)
+				logger.warn("@AutocompleteHandler for unknown command '{}'", path);
+			else if (declared.stream().noneMatch(o -> o.getName().equals(option) && o.isAutoComplete()))
+				logger.warn("Option '{}' of '{}' is not an autocomplete option", option, path);
+		}));
+	}
+
+	@Override
+	public synchronized void start() {
+		executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "SpringJDA-Autocomplete");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		sources.values().forEach(options -> options.values().forEach(source -> {
+			executor.execute(source::refresh);
+			if (source.interval != null) {
+				long interval = source.interval.toMillis();
+				executor.scheduleWithFixedDelay(source::refresh, interval, interval, TimeUnit.MILLISECONDS);
+			}
+		}));
+
+		long window = Math.max(1, collapseWindow.toMillis());
+		executor.scheduleWithFixedDelay(this::evictAnswers, window, window, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public synchronized void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	@Override
+	public synchronized boolean isRunning() {
+		return executor != null;
+	}
+
+	private void complete(CommandAutoCompleteInteractionEvent event) {
+		long start = System.nanoTime();
+		requests.increment();
+
+		String path = event.getFullCommandName();
+		String option = event.getFocusedOption().getName();
+		String value = event.getFocusedOption().getValue();
+
+		// Collapse repeated requests of the same user
+		long user = event.getUser().getIdLong();
+		Answer last = lastAnswers.get(user);
+		List<Command.Choice> choices;
+		if (last != null && last.matches(path, option, value) && start - last.time < collapseWindow.toNanos()) {
+			collapsed.increment();
+			choices = last.choices;
+		} else {
+			Map<String, Source> options = sources.get(path);
+			Source source = options != null ? options.get(option) : null;
+			CandidateIndex index = source != null ? source.index : null;
+
+			if (index == null) {
+				misses.increment();
+				choices = List.of();
+			} else
+				choices = index.find(value, OptionData.MAX_CHOICES);
+			lastAnswers.put(user, new Answer(path, option, value, choices, start));
+		}
+
+		event.replyChoices(choices).queue();
+
+		long elapsed = System.nanoTime() - start;
+		latency.add(elapsed);
+		maxLatency.accumulate(elapsed);
+	}
+
+	private void evictAnswers() {
+		long oldest = System.nanoTime() - collapseWindow.toNanos();
+		lastAnswers.values().removeIf(answer -> answer.time < oldest);
+	}
+
+	@Nullable
+	private List<Command.Option> getOptions(String path) {
+		String[] parts = path.split(" ");
+		if (parts.length == 1) {
+			Command command = registry.getCommand(Command.Type.SLASH, path);
+			return command == null ? null : command.getOptions();
+		}
+		Command.Subcommand subcommand = registry.getSubcommand(path);
+		return subcommand == null ? null : subcommand.getOptions();
+	}
+
+	@Override
+	public int getPhase() {
+		// Schedule the initial candidate loads before SpringJDA starts
+		return -1;
+	}
+
+	/**
+	 * Statistics of autocomplete requests.
+	 *
+	 * @param requests       The amount of answered requests
+	 * @param misses         The amount of requests without loaded candidates
+	 * @param collapsed      The amount of requests answered with the previous
+	 *                       answer of the same user
+	 * @param averageLatency The average time to answer a request
+	 * @param maxLatency     The maximum time to answer a request
+	 */
+	public record Stats(long requests, long misses, long collapsed, Duration averageLatency, Duration maxLatency) {
+
+		/**
+		 * Get the fraction of requests answered from loaded candidates.
+		 *
+		 * @return The hit rate between {@code 0} and {@code 1}
+		 */
+		public double hitRate() {
+			return requests == 0 ? 0 : (double) (requests - misses) / requests;
+		}
+	}
+
+	/**
+	 * Last answer sent to a user.
+	 */
+	private record Answer(String path, String option, String value, List<Command.Choice> choices, long time) {
+		boolean matches(String path, String option, String value) {
+			return this.value.equals(value) && this.option.equals(option) && this.path.equals(path);
+		}
+	}
+
+	/**
+	 * Candidate source of a single option.
+	 */
+	private final class Source {
+		final String path;
+		final String option;
+		final Object bean;
+		final Method method;
+		@Nullable
+		final Duration interval;
+		volatile CandidateIndex index;
+
+		Source(String path, String option, Object bean, Method method, @Nullable Duration interval) {
+			this.path = path;
+			this.option = option;
+			this.bean = bean;
+			this.method = method;
+			this.interval = interval;
+			ReflectionUtils.makeAccessible(method);
+		}
+
+		void refresh() {
+			try {
+				Collection<?> candidates = (Collection<?>) ReflectionUtils.invokeMethod(method, bean);
+				List<Command.Choice> choices = new ArrayList<>(candidates == null ? 0 : candidates.size());
+				if (candidates != null)
+					candidates.forEach(candidate -> choices.add(CandidateIndex.toChoice(candidate)));
+
+				index = new CandidateIndex(choices);
+				logger.debug("Loaded {} autocomplete candidates for option '{}' of '{}'", choices.size(), option, path);
+			} catch (RuntimeException e) {
+				logger.error("Failed to load autocomplete candidates for option '{}' of '{}'", option, path, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+
+/**
+ * Immutable autocomplete candidates sorted by their lowercased name. Prefix
+ * lookups binary search the first match and read the following candidates.
+ *
+ * @author Ashley
+ */
+final class CandidateIndex {
+	private final String[] keys;
+
+	private final Command.Choice[] choices;
+
+	CandidateIndex(Collection<Command.Choice> candidates) {
+		Command.Choice[] sorted = candidates.toArray(Command.Choice[]::new);
+		Arrays.sort(sorted, Comparator.comparing(choice -> key(choice.getName())));
+
+		this.choices = sorted;
+		this.keys = new String[sorted.length];
+		for (int i = 0; i < sorted.length; i++)
+			keys[i] = key(sorted[i].getName());
+	}
+
+	/**
+	 * Get the first candidates starting with a prefix, ignoring case.
+	 *
+	 * @param prefix The typed value
+	 * @param limit  The maximum amount of candidates
+	 *
+	 * @return The matching candidates in order
+	 */
+	List<Command.Choice> find(String prefix, int limit) {
+		String key = key(prefix);
+		int i = Arrays.binarySearch(keys, key);
+		if (i < 0)
+			i = -i - 1;
+
+		List<Command.Choice> found = new ArrayList<>(Math.min(limit, keys.length - i));
+		for (; i < keys.length && found.size() < limit && keys[i].startsWith(key); i++)
+			found.add(choices[i]);
+		return found;
+	}
+
+	int size() {
+		return keys.length;
+	}
+
+	static Command.Choice toChoice(Object candidate) {
+		if (candidate instanceof Command.Choice choice)
+			return choice;
+		if (candidate instanceof String string)
+			return new Command.Choice(string, string);
+		throw new IllegalArgumentException("Unsupported autocomplete candidate " + candidate + ", expected "
+				+ Command.Choice.class.getSimpleName() + " or " + String.class.getSimpleName());
+	}
+
+	private static String key(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+}
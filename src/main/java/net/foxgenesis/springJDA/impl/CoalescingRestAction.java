@@ -0,0 +1,107 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.lang.Nullable;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.requests.RestAction;
+
+/**
+ * {@link RestAction} whose executions join a request shared through a
+ * {@link RequestCoalescer}. Every execution receives its own future, so
+ * cancelling one execution does not cancel the shared request.
+ * <p>
+ * {@link #complete()} fails inside callbacks queued on a coalescing action.
+ * Callbacks of other actions are not detected.
+ *
+ * @param <T> The result type
+ *
+ * @author Ashley
+ */
+final class CoalescingRestAction<T> implements RestAction<T> {
+	/**
+	 * Set while a callback of a coalescing action is running on this thread.
+	 */
+	private static final ThreadLocal<Boolean> CALLBACK = new ThreadLocal<>();
+
+	private final JDA jda;
+
+	private final Supplier<CompletableFuture<T>> request;
+
+	@Nullable
+	private BooleanSupplier check;
+
+	CoalescingRestAction(JDA jda, Supplier<CompletableFuture<T>> request) {
+		this.jda = Objects.requireNonNull(jda);
+		this.request = Objects.requireNonNull(request);
+	}
+
+	@Override
+	public JDA getJDA() {
+		return jda;
+	}
+
+	@Override
+	public RestAction<T> setCheck(@Nullable BooleanSupplier checks) {
+		this.check = checks;
+		return this;
+	}
+
+	@Override
+	public BooleanSupplier getCheck() {
+		return check;
+	}
+
+	@Override
+	public void queue(@Nullable Consumer<? super T> success, @Nullable Consumer<? super Throwable> failure) {
+		Consumer<? super T> onSuccess = success != null ? success : RestAction.getDefaultSuccess();
+		Consumer<? super Throwable> onFailure = failure != null ? failure : RestAction.getDefaultFailure();
+		submit(true).whenComplete((result, err) -> {
+			// Mark callbacks so they can not block on complete()
+			boolean nested = CALLBACK.get() != null;
+			CALLBACK.set(Boolean.TRUE);
+			try {
+				if (err == null)
+					onSuccess.accept(result);
+				else
+					onFailure.accept(
+							err instanceof CompletionException && err.getCause() != null ? err.getCause() : err);
+			} finally {
+				if (!nested)
+					CALLBACK.remove();
+			}
+		});
+	}
+
+	@Override
+	public T complete(boolean shouldQueue) {
+		// Blocking a callback thread can prevent the shared request from completing
+		if (CALLBACK.get() != null)
+			throw new IllegalStateException(
+					"Preventing use of complete() in callback threads! This operation can be a deadlock cause");
+		try {
+			return submit(shouldQueue).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause)
+				throw cause;
+			if (e.getCause() instanceof Error cause)
+				throw cause;
+			throw e;
+		}
+	}
+
+	@Override
+	public CompletableFuture<T> submit(boolean shouldQueue) {
+		BooleanSupplier check = this.check;
+		if (check != null && !check.getAsBoolean())
+			return CompletableFuture.failedFuture(new CancellationException("RestAction check failed"));
+		return request.get().copy();
+	}
+}
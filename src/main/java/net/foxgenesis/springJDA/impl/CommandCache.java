@@ -0,0 +1,112 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.foxgenesis.springJDA.CommandRegistry;
+
+/**
+ * Local cache of the global commands last synchronized with Discord. The cache
+ * stores the fingerprint of the scanned commands together with the
+ * {@link CommandRoute routes} of the commands returned by Discord, allowing
+ * interactions to be routed without requesting the commands on startup.
+ *
+ * @author Ashley
+ */
+final class CommandCache {
+	private final Logger logger = LoggerFactory.getLogger(CommandRegistry.class);
+
+	private final Path directory;
+
+	CommandCache(Path directory) {
+		this.directory = Objects.requireNonNull(directory);
+	}
+
+	/**
+	 * Load the cached routes if they were synchronized from the same scanned
+	 * commands.
+	 *
+	 * @param applicationId The application id owning the commands
+	 * @param fingerprint   The fingerprint of the scanned commands
+	 *
+	 * @return The cached routes or {@code null} if the cache is missing or stale
+	 */
+	@Nullable
+	List<CommandRoute> load(long applicationId, String fingerprint) {
+		Path file = file(applicationId);
+
+		try {
+			DataObject data = DataObject.fromJson(Files.readAllBytes(file));
+			if (data.getUnsignedLong("application_id", 0) != applicationId
+					|| !fingerprint.equals(data.getString("fingerprint", null)))
+				return null;
+
+			DataArray array = data.getArray("commands");
+			List<CommandRoute> routes = new ArrayList<>(array.length());
+			for (int i = 0; i < array.length(); i++) {
+				DataObject command = array.getObject(i);
+				Command.Type type = Command.Type.fromId(command.getInt("type", 1));
+				if (type == Command.Type.UNKNOWN)
+					return null;
+				routes.add(new CommandRoute(command.getUnsignedLong("id"), type, command.getString("name")));
+			}
+			return routes;
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Failed to read command cache {}", file, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Store commands synchronized from the provided fingerprint.
+	 *
+	 * @param applicationId The application id owning the commands
+	 * @param fingerprint   The fingerprint of the scanned commands
+	 * @param commands      The commands returned by Discord
+	 */
+	void store(long applicationId, String fingerprint, Collection<Command> commands) {
+		DataArray array = DataArray.empty();
+		for (Command command : commands)
+			array.add(DataObject.empty()
+					.put("id", command.getId())
+					.put("type", command.getType().getId())
+					.put("name", command.getName()));
+
+		DataObject data = DataObject.empty()
+				.put("application_id", Long.toUnsignedString(applicationId))
+				.put("fingerprint", fingerprint)
+				.put("commands", array);
+
+		Path file = file(applicationId);
+		try {
+			// Write atomically so concurrent readers never see a partial file
+			Files.createDirectories(directory);
+			Path temp = Files.createTempFile(directory, "commands", ".tmp");
+			Files.write(temp, data.toJson());
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			logger.debug("Stored {} commands in {}", commands.size(), file);
+		} catch (IOException e) {
+			logger.warn("Failed to write command cache {}", file, e);
+		}
+	}
+
+	private Path file(long applicationId) {
+		return directory.resolve("commands-" + Long.toUnsignedString(applicationId) + ".json");
+	}
+}
@@ -0,0 +1,122 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+
+/**
+ * Stable content hashes of {@link CommandData}. Commands are serialized to a
+ * canonical form with sorted object keys so that equal commands always produce
+ * equal hashes, independent of map iteration order.
+ *
+ * @author Ashley
+ */
+final class CommandFingerprint {
+
+	private CommandFingerprint() {}
+
+	/**
+	 * Get the canonical form of a command.
+	 *
+	 * @param command The command to serialize
+	 *
+	 * @return The canonical serialized command
+	 */
+	static String canonical(CommandData command) {
+		StringBuilder builder = new StringBuilder();
+		write(builder, command.toData());
+		return builder.toString();
+	}
+
+	/**
+	 * Get a fingerprint of a set of commands. The fingerprint does not depend on
+	 * the iteration order of the set.
+	 *
+	 * @param commands The commands to hash
+	 *
+	 * @return The hex encoded SHA-256 of all canonical commands
+	 */
+	static String of(Collection<? extends CommandData> commands) {
+		MessageDigest digest = sha256();
+		commands.stream()
+				// Serialize each command
+				.map(CommandFingerprint::canonical)
+				// Hash in a stable order
+				.sorted(Comparator.naturalOrder())
+				// Update digest
+				.forEach(command -> {
+					digest.update(command.getBytes(StandardCharsets.UTF_8));
+					digest.update((byte) '\n');
+				});
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static void write(StringBuilder builder, Object value) {
+		if (value instanceof DataObject object)
+			value = object.toMap();
+		else if (value instanceof DataArray array)
+			value = array.toList();
+
+		if (value instanceof Map<?, ?> map) {
+			builder.append('{');
+			boolean first = true;
+			for (Map.Entry<String, Object> entry : sorted(map).entrySet()) {
+				if (!first)
+					builder.append(',');
+				first = false;
+				writeString(builder, entry.getKey());
+				builder.append(':');
+				write(builder, entry.getValue());
+			}
+			builder.append('}');
+		} else if (value instanceof Collection<?> list) {
+			builder.append('[');
+			boolean first = true;
+			for (Object element : list) {
+				if (!first)
+					builder.append(',');
+				first = false;
+				write(builder, element);
+			}
+			builder.append(']');
+		} else if (value instanceof String string)
+			writeString(builder, string);
+		else
+			builder.append(value);
+	}
+
+	private static Map<String, Object> sorted(Map<?, ?> map) {
+		Map<String, Object> sorted = new TreeMap<>();
+		map.forEach((key, value) -> sorted.put(String.valueOf(key), value));
+		return sorted;
+	}
+
+	private static void writeString(StringBuilder builder, String string) {
+		builder.append('"');
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			if (c == '"' || c == '\\')
+				builder.append('\\');
+			builder.append(c);
+		}
+		builder.append('"');
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Required to be supported by every Java platform
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.lang.Nullable;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.Command.Subcommand;
+import net.dv8tion.jda.api.interactions.commands.Command.SubcommandGroup;
+
+/**
+ * Immutable lookup tables over a snapshot of registered commands. A new index
+ * is built whenever the commands change and published by swapping the
+ * reference.
+ * <p>
+ * An index built from cached {@link CommandRoute routes} only routes commands
+ * by type and name. It contains no command entities until it is replaced by an
+ * index built from the commands returned by Discord.
+ *
+ * @author Ashley
+ */
+final class CommandIndex {
+	private final List<Command> commands;
+
+	private final Map<String, Command> byName;
+
+	private final Map<Command.Type, Map<String, Command>> byType = new EnumMap<>(Command.Type.class);
+
+	private final Map<String, Subcommand> subcommands;
+
+	private final LongTable<Command> byId;
+
+	private final Map<Command.Type, Map<String, CommandRoute>> routes = new EnumMap<>(Command.Type.class);
+
+	private final boolean complete;
+
+	/**
+	 * Create an index of commands returned by Discord.
+	 *
+	 * @param commands The registered commands
+	 */
+	CommandIndex(Collection<Command> commands) {
+		this(commands, commands.stream().map(CommandRoute::of).toList(), true);
+	}
+
+	private CommandIndex(Collection<Command> commands, Collection<CommandRoute> routes, boolean complete) {
+		this.commands = List.copyOf(commands);
+		this.complete = complete;
+		this.byName = new HashMap<>(this.commands.size() * 2);
+		this.subcommands = new HashMap<>();
+		this.byId = new LongTable<>(this.commands.size());
+
+		for (CommandRoute route : routes)
+			this.routes.computeIfAbsent(route.type(), type -> new HashMap<>()).put(key(route.name()), route);
+
+		for (Command command : this.commands) {
+			String name = key(command.getName());
+
+			// Prefer slash commands when names are shared between types
+			byName.merge(name, command, (a, b) -> b.getType() == Command.Type.SLASH ? b : a);
+			byType.computeIfAbsent(command.getType(), type -> new HashMap<>()).put(name, command);
+			byId.put(command.getIdLong(), command);
+
+			for (Subcommand subcommand : command.getSubcommands())
+				subcommands.put(key(subcommand.getFullCommandName()), subcommand);
+			for (SubcommandGroup group : command.getSubcommandGroups())
+				for (Subcommand subcommand : group.getSubcommands())
+					subcommands.put(key(subcommand.getFullCommandName()), subcommand);
+		}
+	}
+
+	/**
+	 * Create an index routing cached commands without command entities.
+	 *
+	 * @param routes The cached routes
+	 *
+	 * @return An incomplete index
+	 */
+	static CommandIndex ofRoutes(Collection<CommandRoute> routes) {
+		return new CommandIndex(List.of(), routes, false);
+	}
+
+	/**
+	 * Check if this index contains the command entities returned by Discord.
+	 *
+	 * @return {@code false} if this index was built from cached routes
+	 */
+	boolean isComplete() {
+		return complete;
+	}
+
+	List<Command> commands() {
+		return commands;
+	}
+
+	/**
+	 * Get the amount of routed commands.
+	 *
+	 * @return The amount of commands in this index
+	 */
+	int size() {
+		int size = 0;
+		for (Map<String, CommandRoute> names : routes.values())
+			size += names.size();
+		return size;
+	}
+
+	/**
+	 * Get the ids of all routed commands.
+	 *
+	 * @return A new set of command ids
+	 */
+	Set<Long> ids() {
+		Set<Long> ids = new HashSet<>();
+		routes.values().forEach(names -> names.values().forEach(route -> ids.add(route.id())));
+		return ids;
+	}
+
+	@Nullable
+	CommandRoute route(Command.Type type, String name) {
+		Map<String, CommandRoute> names = routes.get(type);
+		return names == null ? null : names.get(key(name));
+	}
+
+	@Nullable
+	Command byName(String name) {
+		return byName.get(key(name));
+	}
+
+	@Nullable
+	Command byType(Command.Type type, String name) {
+		Map<String, Command> names = byType.get(type);
+		return names == null ? null : names.get(key(name));
+	}
+
+	@Nullable
+	Subcommand subcommand(String fullCommandName) {
+		return subcommands.get(key(fullCommandName));
+	}
+
+	@Nullable
+	Command byId(long id) {
+		return byId.get(id);
+	}
+
+	private static String key(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+}
@@ -1,13 +1,19 @@
 package net.foxgenesis.springJDA.impl;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
@@ -15,17 +21,22 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.core.metrics.StartupStep;
 import org.springframework.stereotype.Service;
 
+import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.Command.Subcommand;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 import net.foxgenesis.springJDA.CommandRegistry;
 import net.foxgenesis.springJDA.SpringJDA;
 import net.foxgenesis.springJDA.annotation.GlobalCommand;
 import net.foxgenesis.springJDA.autoconfigure.SpringJDAConfiguration;
+import net.foxgenesis.springJDA.event.CommandRegistryReadyEvent;
+import net.foxgenesis.springJDA.event.CommandRegistryRefreshedEvent;
 import net.foxgenesis.springJDA.event.SpringJDASemiReadyEvent;
 import net.foxgenesis.springJDA.provider.GlobalCommandProvider;
 
@@ -43,71 +54,85 @@ public class CommandRegistryImpl implements CommandRegistry, ApplicationListener
 	@Autowired
 	private ConfigurableListableBeanFactory ctx;
 
-	private CopyOnWriteArraySet<Command> commands;
+	@Autowired
+	private ApplicationStartup startup;
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
+	private volatile CommandIndex index;
+
+	private CommandCache cache;
+
+	private final CompletableFuture<CommandRegistry> readyFuture = new CompletableFuture<>();
+
+	private final Object refreshLock = new Object();
+
+	/**
+	 * Refresh that has been requested but not yet started.
+	 */
+	private CompletableFuture<CommandRegistry> pendingRefresh;
+
+	private long refreshDeadline;
+
+	private boolean refreshing;
 
 	@Override
 	public void onApplicationEvent(SpringJDASemiReadyEvent event) {
-		ApplicationStartup startup = ApplicationStartup.DEFAULT;
 		StartupStep initStep = startup.start("SpringJDA.commandRegistryInit");
-		
-		// Get current commands from Discord
-		logger.info("Requesting commands from Discord");
-		StartupStep loadStep = startup.start("SpringJDA.retrieveCommands");
-		CompletableFuture<List<Command>> future = jda.retrieveCommands().submit().whenComplete((v,err) -> loadStep.end());
+		if (config.commandCache())
+			cache = new CommandCache(config.commandCacheDirectory());
 
 		// Scan for global commands in application
-		Set<CommandData> commandData = new HashSet<>();
-		getCommands()
-				// Iterate over commands
-				.forEach(command -> {
-					// Attempt to add command
-					if (!commandData.add(command))
-						throw new IllegalArgumentException("command " + command + " is already registered");
-				});
-		
-		this.commands = future
-				// If scanned commands do not match current commands then update
-				.thenCompose(commands -> {
-					// Return if scanned commands match current commands
-					if (isSame(commands, commandData))
-						return CompletableFuture.completedFuture(commands);
-					
-					// Scanned commands do not match current commands
-					logger.warn("Commands requested from Discord does not match with the current application!");
-					
-					// Check if updating commands is permitted
-					if(!config.updateCommands()) {
-						logger.warn("Updating commands disabled! Continuing...");
-						return CompletableFuture.completedFuture(commands);
+		Set<CommandData> commandData = scan();
+		String fingerprint = CommandFingerprint.of(commandData);
+
+		// Route from cache if the scanned commands did not change
+		List<CommandRoute> cached = cache != null ? cache.load(getApplicationId(), fingerprint) : null;
+		if (cached != null) {
+			initStep.tag("cached", "true").end();
+			logger.info("Loaded {} command routes from cache", cached.size());
+
+			// Verification replaces the index, hold back refreshes until it is done
+			synchronized (refreshLock) {
+				refreshing = true;
+			}
+			CommandIndex routes = CommandIndex.ofRoutes(cached);
+			install(routes);
+
+			// Ready once the commands have been retrieved so that listeners of the
+			// ready event never wait on verification
+			verify(routes, commandData, fingerprint)
+					// Publish index
+					.whenComplete((commands, err) -> {
+						if (err != null) {
+							logger.error("Failed to load commands", err);
+							readyFuture.completeExceptionally(err);
+						} else {
+							logger.info("Loaded {} commands", commands.size());
+							ready(new CommandIndex(commands));
+						}
+						finishRefresh();
+					});
+			return;
+		}
+
+		retrieve()
+				// Synchronize with scanned commands
+				.thenCompose(commands -> sync(commands, commandData, fingerprint))
+				// Build lookup index
+				.thenApply(CommandIndex::new)
+				// Publish index
+				.whenComplete((index, err) -> {
+					initStep.end();
+					if (err != null) {
+						logger.error("Failed to load commands", err);
+						readyFuture.completeExceptionally(err);
+						return;
 					}
-					
-					// Update current commands with scanned commands
-					logger.warn("Commands requested from Discord does not match with the current application!");
-					logger.warn("Uploading {} commands to Discord: " + commandData.size(),
-							commandData.stream().map(CommandData::getName).sorted().toList());
-
-					// Map to future uploaded commands
-					StartupStep uploadStep = startup.start("SpringJDA.uploadCommands");
-					return jda
-							// New update command request
-							.updateCommands()
-							// Add scanned commands
-							.addCommands(commandData)
-							// As future
-							.submit()
-							// Log when complete
-							.whenComplete((uploaded, err) -> {
-								uploadStep.end();
-								if (err != null)
-									logger.warn("Upload complete");
-							});
-				})
-				// Map to CopyOnWriteArraySet
-				.thenApply(CopyOnWriteArraySet::new)
-				// Block
-				.join();
-		initStep.end();
-		logger.info("Loaded {} commands", commands.size());
+					logger.info("Loaded {} commands", index.commands().size());
+					ready(index);
+				});
 
 //		if (config.updateCommands()) {
 //			Set<CommandData> commandData = new HashSet<>();
@@ -133,7 +158,202 @@ public class CommandRegistryImpl implements CommandRegistry, ApplicationListener
 //		logger.info("Loaded {} commands", commands.size());
 	}
 
-	private Stream<CommandData> getCommands() {
+	@Override
+	public CompletionStage<CommandRegistry> refresh() {
+		synchronized (refreshLock) {
+			// Every request moves the deadline of the pending refresh
+			refreshDeadline = System.nanoTime() + config.commandRefreshDebounce().toNanos();
+			if (pendingRefresh == null) {
+				pendingRefresh = new CompletableFuture<>();
+				scheduleRefresh(config.commandRefreshDebounce().toNanos());
+			}
+			return pendingRefresh.minimalCompletionStage();
+		}
+	}
+
+	private void scheduleRefresh(long delay) {
+		CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(this::startRefresh);
+	}
+
+	/**
+	 * Start the pending refresh once no request was made within the debounce
+	 * time and no other refresh is running.
+	 */
+	private void startRefresh() {
+		CompletableFuture<CommandRegistry> future;
+		synchronized (refreshLock) {
+			long remaining = refreshDeadline - System.nanoTime();
+			if (remaining > 0) {
+				scheduleRefresh(remaining);
+				return;
+			}
+			// Started again once the running refresh completes
+			if (refreshing || pendingRefresh == null)
+				return;
+			future = pendingRefresh;
+			pendingRefresh = null;
+			refreshing = true;
+		}
+
+		readyFuture
+				// Wait for the initial load
+				.thenCompose(registry -> doRefresh())
+				// Complete all coalesced requests
+				.whenComplete((registry, err) -> {
+					finishRefresh();
+					if (err != null)
+						future.completeExceptionally(err);
+					else
+						future.complete(this);
+				});
+	}
+
+	/**
+	 * Mark the running refresh as done and start the next pending refresh.
+	 */
+	private void finishRefresh() {
+		synchronized (refreshLock) {
+			refreshing = false;
+			if (pendingRefresh != null)
+				scheduleRefresh(0);
+		}
+	}
+
+	private CompletableFuture<CommandRegistry> doRefresh() {
+		Set<CommandData> commandData = scan();
+		String fingerprint = CommandFingerprint.of(commandData);
+
+		// Return if scanned commands match the current index
+		List<Command> commands = index.commands();
+		if (isSame(commands, commandData)) {
+			logger.debug("Refreshed commands did not change");
+			return CompletableFuture.completedFuture(this);
+		}
+
+		logger.info("Refreshing commands");
+		return sync(commands, commandData, fingerprint).thenApply(synced -> {
+			// Replace index after the initial load and notify listeners routing by
+			// command id
+			this.index = new CommandIndex(synced);
+			logger.info("Loaded {} commands", synced.size());
+			publisher.publishEvent(new CommandRegistryRefreshedEvent(jda, this, synced.size()));
+			return this;
+		});
+	}
+
+	/**
+	 * Install an index. An index of cached routes is only used to look up
+	 * command ids until it is replaced by the retrieved commands.
+	 */
+	private void install(CommandIndex index) {
+		this.index = index;
+	}
+
+	private void ready(CommandIndex index) {
+		install(index);
+		if (readyFuture.complete(this))
+			publisher.publishEvent(new CommandRegistryReadyEvent(jda, this, index.size()));
+	}
+
+	/**
+	 * Verify routes loaded from the cache against Discord and synchronize if they
+	 * differ. If verification fails the commands are retrieved again without
+	 * synchronizing. Must be run as a refresh.
+	 *
+	 * @return A future completing with the commands to install
+	 */
+	private CompletableFuture<List<Command>> verify(CommandIndex cached, Set<CommandData> commandData,
+			String fingerprint) {
+		Set<Long> ids = cached.ids();
+
+		return retrieve()
+				// Synchronize if Discord does not match the cache
+				.thenCompose(commands -> {
+					if (isSame(commands, commandData)
+							&& commands.stream().map(Command::getIdLong).collect(Collectors.toSet()).equals(ids)) {
+						logger.debug("Verified cached commands");
+						return CompletableFuture.completedFuture(commands);
+					}
+
+					logger.warn("Cached commands do not match Discord! Synchronizing...");
+					return sync(commands, commandData, fingerprint);
+				})
+				// Fall back to the commands currently registered
+				.exceptionallyCompose(err -> {
+					logger.error("Failed to verify cached commands, retrieving commands", err);
+					return retrieve();
+				});
+	}
+
+	private CompletableFuture<List<Command>> retrieve() {
+		// Get current commands from Discord
+		logger.info("Requesting commands from Discord");
+		StartupStep loadStep = startup.start("SpringJDA.retrieveCommands");
+		return jda.retrieveCommands().submit().whenComplete((v, err) -> loadStep.end());
+	}
+
+	private CompletableFuture<List<Command>> sync(List<Command> commands, Set<CommandData> commandData,
+			String fingerprint) {
+		// Return if scanned commands match current commands
+		StartupStep diffStep = startup.start("SpringJDA.diffCommands");
+		boolean same = isSame(commands, commandData);
+		diffStep.tag("changed", Boolean.toString(!same)).end();
+		if (same) {
+			store(fingerprint, commands);
+			return CompletableFuture.completedFuture(commands);
+		}
+
+		// Scanned commands do not match current commands
+		logger.warn("Commands requested from Discord does not match with the current application!");
+
+		// Check if updating commands is permitted
+		if (!config.updateCommands()) {
+			logger.warn("Updating commands disabled! Continuing...");
+			return CompletableFuture.completedFuture(commands);
+		}
+
+		// Apply the difference between current and scanned commands
+		StartupStep uploadStep = startup.start("SpringJDA.uploadCommands")
+				.tag("commands", Integer.toString(commandData.size()));
+		return new CommandSync(jda, config.commandSyncConcurrency())
+				// Create, edit and delete changed commands
+				.apply(commands, commandData)
+				// Log when complete
+				.whenComplete((uploaded, err) -> {
+					uploadStep.end();
+					if (err != null)
+						logger.error("Failed to synchronize commands", err);
+					else
+						store(fingerprint, uploaded);
+				});
+	}
+
+	private void store(String fingerprint, List<Command> commands) {
+		if (cache != null)
+			cache.store(getApplicationId(), fingerprint, commands);
+	}
+
+	private long getApplicationId() {
+		return getShard().getSelfUser().getApplicationIdLong();
+	}
+
+	private JDA getShard() {
+		return jda.getSelfUser().getJDA();
+	}
+
+	private Set<CommandData> scan() {
+		Set<CommandData> commandData = new HashSet<>();
+		getCommands()
+				// Iterate over commands
+				.forEach(command -> {
+					// Attempt to add command
+					if (!commandData.add(command))
+						throw new IllegalArgumentException("command " + command + " is already registered");
+				});
+		return commandData;
+	}
+
+	Stream<CommandData> getCommands() {
 		Stream<CommandData> providers = ctx
 				// Get GlobalCommandProvider provider
 				.getBeanProvider(GlobalCommandProvider.class)
@@ -171,15 +391,79 @@ public class CommandRegistryImpl implements CommandRegistry, ApplicationListener
 
 	@Override
 	public Iterator<Command> iterator() {
-		if (commands != null)
-			return commands.iterator();
-		throw new UnsupportedOperationException(
-				"CommandService has not been setup yet. All calls must be after context refresh");
+		return getIndex().commands().iterator();
+	}
+
+	@Override
+	public Command getCommand(String name) {
+		return getIndex().byName(name);
+	}
+
+	@Override
+	public Command getCommand(Command.Type type, String name) {
+		return getIndex().byType(type, name);
+	}
+
+	@Override
+	public Command getCommandById(long id) {
+		return getIndex().byId(id);
+	}
+
+	@Override
+	public Subcommand getSubcommand(String fullCommandName) {
+		return getIndex().subcommand(fullCommandName);
+	}
+
+	@Override
+	public OptionalLong getCommandId(Command.Type type, String name) {
+		CommandRoute route = getRoutes().route(type, name);
+		return route == null ? OptionalLong.empty() : OptionalLong.of(route.id());
+	}
+
+	@Override
+	public CompletionStage<CommandRegistry> whenReady() {
+		return readyFuture.minimalCompletionStage();
+	}
+
+	/**
+	 * Get the index containing the commands returned by Discord, waiting until
+	 * the registry is ready.
+	 */
+	private CommandIndex getIndex() {
+		CommandIndex current = index;
+		if (current != null && current.isComplete())
+			return current;
+		await(readyFuture);
+		return index;
+	}
+
+	/**
+	 * Get the index used for routing, which may only contain cached routes.
+	 */
+	private CommandIndex getRoutes() {
+		CommandIndex current = index;
+		if (current != null)
+			return current;
+		await(readyFuture);
+		return index;
+	}
+
+	private void await(CompletableFuture<?> future) {
+		// Wait for initialization
+		Duration timeout = config.commandRegistryTimeout();
+		try {
+			future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the command registry", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Command registry failed to load", e.getCause());
+		} catch (TimeoutException e) {
+			throw new IllegalStateException("Command registry was not ready within " + timeout, e);
+		}
 	}
 
 	private boolean isSame(Collection<Command> commands, Collection<CommandData> data) {
-		return commands.size() == data.size()
-				? commands.stream().map(CommandData::fromCommand).toList().containsAll(data)
-				: false;
+		return CommandSync.isSame(commands, data);
 	}
 }
@@ -0,0 +1,27 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.util.Objects;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+
+/**
+ * Id of a registered global command together with the type and name used to
+ * route interactions to its handlers. This is all the command cache stores, so
+ * loading it does not depend on how JDA builds its command entities.
+ *
+ * @param id   The id assigned by Discord
+ * @param type The type of the command
+ * @param name The name of the command
+ *
+ * @author Ashley
+ */
+record CommandRoute(long id, Command.Type type, String name) {
+	CommandRoute {
+		Objects.requireNonNull(type);
+		Objects.requireNonNull(name);
+	}
+
+	static CommandRoute of(Command command) {
+		return new CommandRoute(command.getIdLong(), command.getType(), command.getName());
+	}
+}
@@ -0,0 +1,265 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Execution statistics of a single command path. All counters are striped so
+ * that recording never blocks the dispatching thread.
+ *
+ * @author Ashley
+ */
+public final class CommandStats {
+	/**
+	 * Upper bounds of the latency histogram buckets in nanoseconds. The last
+	 * bucket counts all executions slower than the last bound.
+	 */
+	private static final long[] BOUNDS = { 1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L,
+			100_000_000L, 250_000_000L, 500_000_000L, 1_000_000_000L, 2_500_000_000L, 5_000_000_000L };
+
+	private final String path;
+
+	private final LongAdder invocations = new LongAdder();
+
+	private final LongAdder errors = new LongAdder();
+
+	private final LongAdder inFlight = new LongAdder();
+
+	private final LongAdder totalTime = new LongAdder();
+
+	private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+
+	private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+
+	private final LongAdder acknowledged = new LongAdder();
+
+	private final LongAdder unacknowledged = new LongAdder();
+
+	private final LongAdder totalResponseTime = new LongAdder();
+
+	private final LongAccumulator maxResponseTime = new LongAccumulator(Math::max, 0);
+
+	@Nullable
+	private volatile LongConsumer timeRecorder;
+
+	CommandStats(String path) {
+		this.path = path;
+		for (int i = 0; i < buckets.length; i++)
+			buckets[i] = new LongAdder();
+	}
+
+	void begin() {
+		inFlight.increment();
+	}
+
+	/**
+	 * Record the end of an execution.
+	 *
+	 * @param nanos  The execution time in nanoseconds
+	 * @param failed Whether the execution threw an exception
+	 */
+	void end(long nanos, boolean failed) {
+		inFlight.decrement();
+		invocations.increment();
+		if (failed)
+			errors.increment();
+
+		totalTime.add(nanos);
+		maxTime.accumulate(nanos);
+
+		int bucket = 0;
+		while (bucket < BOUNDS.length && nanos > BOUNDS[bucket])
+			bucket++;
+		buckets[bucket].increment();
+
+		LongConsumer recorder = timeRecorder;
+		if (recorder != null)
+			recorder.accept(nanos);
+	}
+
+	/**
+	 * Set a recorder additionally receiving the execution time of every
+	 * finished execution. The recorder is called on the dispatching thread and
+	 * must not block.
+	 *
+	 * @param recorder The recorder receiving execution times in nanoseconds or
+	 *                 {@code null} to remove the recorder
+	 */
+	public void setTimeRecorder(@Nullable LongConsumer recorder) {
+		this.timeRecorder = recorder;
+	}
+
+	/**
+	 * Record the time from the creation of an interaction until its handler
+	 * returned. This includes any work the handler did after acknowledging the
+	 * interaction. The creation time is taken from the interaction id, so the
+	 * response time includes the clock skew between Discord and this host.
+	 *
+	 * @param nanos The response time in nanoseconds or a negative value if the
+	 *              handler did not acknowledge the interaction
+	 */
+	void responded(long nanos) {
+		if (nanos < 0) {
+			unacknowledged.increment();
+			return;
+		}
+		acknowledged.increment();
+		totalResponseTime.add(nanos);
+		maxResponseTime.accumulate(nanos);
+	}
+
+	/**
+	 * Get the command path these statistics belong to.
+	 *
+	 * @return The normalized command path such as {@code "mod ban"}
+	 */
+	@NonNull
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * Get the amount of finished executions.
+	 *
+	 * @return The invocation count
+	 */
+	public long getInvocations() {
+		return invocations.sum();
+	}
+
+	/**
+	 * Get the amount of executions that threw an exception.
+	 *
+	 * @return The error count
+	 */
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	/**
+	 * Get the amount of executions currently running.
+	 *
+	 * @return The in-flight count
+	 */
+	public long getInFlight() {
+		return inFlight.sum();
+	}
+
+	/**
+	 * Get the total time of all finished executions.
+	 *
+	 * @return The total execution time in nanoseconds
+	 */
+	public long getTotalTime() {
+		return totalTime.sum();
+	}
+
+	/**
+	 * Get the longest execution time.
+	 *
+	 * @return The maximum execution time
+	 */
+	@NonNull
+	public Duration getMaxTime() {
+		return Duration.ofNanos(maxTime.get());
+	}
+
+	/**
+	 * Get the average execution time.
+	 *
+	 * @return The average execution time
+	 */
+	@NonNull
+	public Duration getAverageTime() {
+		long invocations = getInvocations();
+		return Duration.ofNanos(invocations == 0 ? 0 : getTotalTime() / invocations);
+	}
+
+	/**
+	 * Get the upper bounds of the latency histogram buckets.
+	 *
+	 * @return A copy of the bucket bounds in nanoseconds
+	 */
+	@NonNull
+	public static long[] getBucketBounds() {
+		return BOUNDS.clone();
+	}
+
+	/**
+	 * Get the amount of executions in each latency histogram bucket. The
+	 * returned array has one more element than {@link #getBucketBounds()} for
+	 * executions slower than the last bound.
+	 *
+	 * @return The non-cumulative bucket counts
+	 */
+	@NonNull
+	public long[] getBucketCounts() {
+		long[] counts = new long[buckets.length];
+		for (int i = 0; i < counts.length; i++)
+			counts[i] = buckets[i].sum();
+		return counts;
+	}
+
+	/**
+	 * Get the amount of executions in a single latency histogram bucket.
+	 *
+	 * @param bucket The index of the bucket
+	 *
+	 * @return The bucket count
+	 */
+	public long getBucketCount(int bucket) {
+		return buckets[bucket].sum();
+	}
+
+	/**
+	 * Get the amount of interactions acknowledged by the handler before it
+	 * returned.
+	 *
+	 * @return The acknowledged count
+	 */
+	public long getAcknowledged() {
+		return acknowledged.sum();
+	}
+
+	/**
+	 * Get the amount of interactions not yet acknowledged when the handler
+	 * returned.
+	 *
+	 * @return The unacknowledged count
+	 */
+	public long getUnacknowledged() {
+		return unacknowledged.sum();
+	}
+
+	/**
+	 * Get the total time from creation until the handler returned of all
+	 * acknowledged interactions.
+	 *
+	 * @return The total response time in nanoseconds
+	 */
+	public long getTotalResponseTime() {
+		return totalResponseTime.sum();
+	}
+
+	/**
+	 * Get the longest time from creation of an acknowledged interaction until
+	 * its handler returned.
+	 *
+	 * @return The maximum response time
+	 */
+	@NonNull
+	public Duration getMaxResponseTime() {
+		return Duration.ofNanos(maxResponseTime.get());
+	}
+
+	@Override
+	public String toString() {
+		return "CommandStats[path=" + path + ", invocations=" + getInvocations() + ", errors=" + getErrors()
+				+ ", inFlight=" + getInFlight() + ", average=" + getAverageTime() + ", max=" + getMaxTime() + "]";
+	}
+}
@@ -0,0 +1,177 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.foxgenesis.springJDA.CommandRegistry;
+import net.foxgenesis.springJDA.SpringJDA;
+
+/**
+ * Synchronizes global commands by applying the smallest set of changes.
+ * Scanned commands are matched with the current commands by type and name and
+ * classified as:
+ * <ul>
+ * <li>created - no command with the same type and name exists</li>
+ * <li>edited - the command exists but its content differs</li>
+ * <li>deleted - the command exists but was not scanned</li>
+ * <li>unchanged - the command exists with equal content</li>
+ * </ul>
+ * Edited commands keep their id. All requests are sent with bounded
+ * concurrency and commands are only created or edited once every delete is
+ * done.
+ *
+ * @author Ashley
+ */
+final class CommandSync {
+	private final Logger logger = LoggerFactory.getLogger(CommandRegistry.class);
+
+	private final SpringJDA jda;
+
+	private final int concurrency;
+
+	CommandSync(SpringJDA jda, int concurrency) {
+		this.jda = Objects.requireNonNull(jda);
+		this.concurrency = Math.max(1, concurrency);
+	}
+
+	/**
+	 * Check if the current commands have the same content as the scanned
+	 * commands.
+	 *
+	 * @param commands The current commands
+	 * @param data     The scanned commands
+	 *
+	 * @return {@code true} if both contain equal commands
+	 */
+	static boolean isSame(Collection<Command> commands, Collection<CommandData> data) {
+		if (commands.size() != data.size())
+			return false;
+
+		Set<String> current = commands.stream()
+				// Compare canonical command data
+				.map(command -> CommandFingerprint.canonical(CommandData.fromCommand(command)))
+				.collect(Collectors.toSet());
+		for (CommandData command : data)
+			if (!current.contains(CommandFingerprint.canonical(command)))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Apply the difference between the current and the scanned commands.
+	 *
+	 * @param commands The current commands
+	 * @param data     The scanned commands
+	 *
+	 * @return A future completing with the synchronized commands
+	 */
+	CompletableFuture<List<Command>> apply(Collection<Command> commands, Collection<CommandData> data) {
+		Map<Key, Command> current = new LinkedHashMap<>();
+		for (Command command : commands)
+			current.put(new Key(command.getType(), command.getName()), command);
+
+		Map<Key, CommandData> scanned = new HashMap<>();
+		for (CommandData command : data)
+			scanned.put(new Key(command.getType(), command.getName()), command);
+
+		List<Key> created = new ArrayList<>();
+		List<Key> edited = new ArrayList<>();
+		List<Key> deleted = new ArrayList<>();
+		int unchanged = 0;
+
+		List<Supplier<CompletableFuture<?>>> deletes = new ArrayList<>();
+		List<Supplier<CompletableFuture<?>>> upserts = new ArrayList<>();
+		Map<Key, Command> result = new LinkedHashMap<>(current);
+
+		for (Map.Entry<Key, Command> entry : current.entrySet()) {
+			Key key = entry.getKey();
+			if (!scanned.containsKey(key)) {
+				deleted.add(key);
+				deletes.add(() -> jda.deleteCommandById(entry.getValue().getIdLong()).submit()
+						.thenRun(() -> remove(result, key)));
+			}
+		}
+
+		for (Map.Entry<Key, CommandData> entry : scanned.entrySet()) {
+			Key key = entry.getKey();
+			CommandData command = entry.getValue();
+			Command existing = current.get(key);
+
+			if (existing == null) {
+				created.add(key);
+				upserts.add(() -> jda.upsertCommand(command).submit().thenAccept(c -> put(result, key, c)));
+			} else if (!CommandFingerprint.canonical(CommandData.fromCommand(existing))
+					.equals(CommandFingerprint.canonical(command))) {
+				edited.add(key);
+				upserts.add(() -> jda.editCommandById(existing.getIdLong()).apply(command).submit()
+						.thenAccept(c -> put(result, key, c)));
+			} else
+				unchanged++;
+		}
+
+		logger.info("Command sync: created {}, edited {}, deleted {}, {} unchanged", created, edited, deleted,
+				unchanged);
+
+		// Finish all deletes first to stay below the command limit
+		return run(deletes).thenCompose(v -> run(upserts)).thenApply(v -> {
+			synchronized (result) {
+				return List.copyOf(result.values());
+			}
+		});
+	}
+
+	private static void put(Map<Key, Command> result, Key key, Command command) {
+		synchronized (result) {
+			result.put(key, command);
+		}
+	}
+
+	private static void remove(Map<Key, Command> result, Key key) {
+		synchronized (result) {
+			result.remove(key);
+		}
+	}
+
+	/**
+	 * Run all tasks with at most {@link #concurrency} tasks in flight.
+	 */
+	private CompletableFuture<Void> run(List<Supplier<CompletableFuture<?>>> tasks) {
+		AtomicInteger next = new AtomicInteger();
+		CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(concurrency, tasks.size())];
+		for (int i = 0; i < workers.length; i++)
+			workers[i] = worker(tasks, next);
+		return CompletableFuture.allOf(workers);
+	}
+
+	private static CompletableFuture<Void> worker(List<Supplier<CompletableFuture<?>>> tasks, AtomicInteger next) {
+		int i = next.getAndIncrement();
+		if (i >= tasks.size())
+			return CompletableFuture.completedFuture(null);
+		return tasks.get(i).get().thenCompose(v -> worker(tasks, next));
+	}
+
+	/**
+	 * Identity of a command. Discord allows a single command per type and name.
+	 */
+	private record Key(Command.Type type, String name) {
+		@Override
+		public String toString() {
+			return type == Command.Type.SLASH ? name : name + " (" + type + ")";
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Open addressing hash table keyed by primitive {@code long} values such as
+ * snowflake ids that may be modified while it is read. Lookups do not lock,
+ * box or allocate. Modifications are serialized and replace the table when it
+ * has to grow.
+ *
+ * @param <V> The value type
+ *
+ * @author Ashley
+ * @see LongTable
+ */
+final class ConcurrentLongTable<V> {
+	private static final Node<?> REMOVED = new Node<>(0, null);
+
+	private volatile AtomicReferenceArray<Node<V>> table;
+
+	/**
+	 * Amount of live entries.
+	 */
+	private int size;
+
+	/**
+	 * Amount of live and removed entries.
+	 */
+	private int used;
+
+	ConcurrentLongTable(int initialCapacity) {
+		this.table = new AtomicReferenceArray<>(Integer.highestOneBit(Math.max(2, initialCapacity) * 2 - 1));
+	}
+
+	@Nullable
+	V get(long key) {
+		AtomicReferenceArray<Node<V>> table = this.table;
+		int mask = table.length() - 1;
+		for (int i = slot(key, mask);; i = (i + 1) & mask) {
+			Node<V> node = table.get(i);
+			if (node == null)
+				return null;
+			if (node.key == key && node != REMOVED)
+				return node.value;
+		}
+	}
+
+	synchronized void put(long key, V value) {
+		Node<V> node = new Node<>(key, value);
+
+		AtomicReferenceArray<Node<V>> table = this.table;
+		int mask = table.length() - 1;
+		int free = -1;
+		for (int i = slot(key, mask);; i = (i + 1) & mask) {
+			Node<V> current = table.get(i);
+			if (current == null) {
+				if (free == -1) {
+					free = i;
+					used++;
+				}
+				break;
+			}
+			if (current == REMOVED) {
+				if (free == -1)
+					free = i;
+			} else if (current.key == key) {
+				table.set(i, node);
+				return;
+			}
+		}
+		table.set(free, node);
+		size++;
+
+		// Keep the load factor below 0.5
+		if (used * 2 > table.length())
+			resize();
+	}
+
+	@SuppressWarnings("unchecked")
+	synchronized void remove(long key) {
+		AtomicReferenceArray<Node<V>> table = this.table;
+		int mask = table.length() - 1;
+		for (int i = slot(key, mask);; i = (i + 1) & mask) {
+			Node<V> node = table.get(i);
+			if (node == null)
+				return;
+			if (node.key == key && node != REMOVED) {
+				table.set(i, (Node<V>) REMOVED);
+				size--;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Remove all entries whose value matches a filter. This visits the whole
+	 * table.
+	 */
+	@SuppressWarnings("unchecked")
+	synchronized void removeIf(Predicate<? super V> filter) {
+		AtomicReferenceArray<Node<V>> table = this.table;
+		for (int i = 0; i < table.length(); i++) {
+			Node<V> node = table.get(i);
+			if (node != null && node != REMOVED && filter.test(node.value)) {
+				table.set(i, (Node<V>) REMOVED);
+				size--;
+			}
+		}
+	}
+
+	/**
+	 * Replace the value of a key atomically with respect to other
+	 * modifications.
+	 *
+	 * @param key       The key to update
+	 * @param remapping Function receiving the current value or {@code null} and
+	 *                  returning the new value or {@code null} to remove the key
+	 */
+	synchronized void compute(long key, UnaryOperator<V> remapping) {
+		V current = get(key);
+		V value = remapping.apply(current);
+		if (value == current)
+			return;
+		if (value == null)
+			remove(key);
+		else
+			put(key, value);
+	}
+
+	/**
+	 * Replace every value. This visits the whole table.
+	 *
+	 * @param remapping Function returning the new value or {@code null} to
+	 *                  remove the key
+	 */
+	@SuppressWarnings("unchecked")
+	synchronized void replaceAll(UnaryOperator<V> remapping) {
+		AtomicReferenceArray<Node<V>> table = this.table;
+		for (int i = 0; i < table.length(); i++) {
+			Node<V> node = table.get(i);
+			if (node == null || node == REMOVED)
+				continue;
+			V value = remapping.apply(node.value);
+			if (value == null) {
+				table.set(i, (Node<V>) REMOVED);
+				size--;
+			} else if (value != node.value)
+				table.set(i, new Node<>(node.key, value));
+		}
+	}
+
+	/**
+	 * Get a snapshot of all values. Modifications made while the snapshot is
+	 * taken may or may not be included.
+	 *
+	 * @return A new list of the values
+	 */
+	List<V> values() {
+		AtomicReferenceArray<Node<V>> table = this.table;
+		List<V> values = new ArrayList<>();
+		for (int i = 0; i < table.length(); i++) {
+			Node<V> node = table.get(i);
+			if (node != null && node != REMOVED)
+				values.add(node.value);
+		}
+		return values;
+	}
+
+	synchronized int size() {
+		return size;
+	}
+
+	private void resize() {
+		AtomicReferenceArray<Node<V>> old = this.table;
+		int capacity = old.length();
+		while (size * 4 > capacity)
+			capacity *= 2;
+
+		// Rebuild without removed entries
+		AtomicReferenceArray<Node<V>> table = new AtomicReferenceArray<>(capacity);
+		int mask = capacity - 1;
+		for (int i = 0; i < old.length(); i++) {
+			Node<V> node = old.get(i);
+			if (node == null || node == REMOVED)
+				continue;
+			int slot = slot(node.key, mask);
+			while (table.get(slot) != null)
+				slot = (slot + 1) & mask;
+			table.set(slot, node);
+		}
+		used = size;
+		this.table = table;
+	}
+
+	private static int slot(long key, int mask) {
+		// Snowflakes share their upper bits, mix before masking
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+
+	private record Node<V>(long key, V value) {}
+}
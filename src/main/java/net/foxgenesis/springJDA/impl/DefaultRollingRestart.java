@@ -0,0 +1,176 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import net.dv8tion.jda.api.JDA.Status;
+import net.dv8tion.jda.api.events.StatusChangeEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import net.foxgenesis.springJDA.RollingRestart;
+import net.foxgenesis.springJDA.SpringJDA;
+
+/**
+ * Default implementation of {@link RollingRestart}. This listener is
+ * registered on the {@link ShardManager} for the duration of the restart and
+ * completes the wave once every restarted shard reports
+ * {@link Status#CONNECTED}.
+ * 
+ * @author Ashley
+ * @see RollingRestart
+ */
+public final class DefaultRollingRestart extends ListenerAdapter implements RollingRestart {
+	private final Logger logger = LoggerFactory.getLogger(SpringJDA.class);
+
+	private final ShardManager manager;
+
+	private final List<Integer> shards;
+
+	private final List<List<Integer>> waves;
+
+	@Nullable
+	private final Duration waveTimeout;
+
+	private final Map<Integer, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+
+	private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+	private final AtomicInteger restarted = new AtomicInteger();
+
+	private volatile int currentWave;
+
+	private volatile boolean cancelled;
+
+	DefaultRollingRestart(ShardManager manager, Collection<Integer> shardIds, int waveSize,
+			@Nullable Duration waveTimeout) {
+		if (waveSize <= 0)
+			throw new IllegalArgumentException("Wave size must be positive");
+		this.manager = manager;
+		this.shards = shardIds.stream().distinct().sorted().toList();
+
+		int total = manager.getShardsTotal();
+		for (int shardId : shards)
+			if (shardId < 0 || shardId >= total)
+				throw new IllegalArgumentException("Shard id " + shardId + " is not in range [0, " + total + ")");
+		this.waveTimeout = waveTimeout;
+
+		List<List<Integer>> waves = new ArrayList<>();
+		for (int i = 0; i < shards.size(); i += waveSize)
+			waves.add(shards.subList(i, Math.min(i + waveSize, shards.size())));
+		this.waves = List.copyOf(waves);
+	}
+
+	void start() {
+		manager.addEventListener(this);
+		future.whenComplete((v, err) -> manager.removeEventListener(this));
+		logger.info("Starting rolling restart of {} shards in {} waves", shards.size(), waves.size());
+		restartWave(0);
+	}
+
+	private void restartWave(int wave) {
+		if (wave >= waves.size()) {
+			logger.info("Rolling restart complete");
+			future.complete(null);
+			return;
+		}
+		if (cancelled) {
+			logger.info("Rolling restart cancelled after {} shards", restarted.get());
+			future.completeExceptionally(new CancellationException("Rolling restart cancelled"));
+			return;
+		}
+
+		currentWave = wave;
+		List<Integer> ids = waves.get(wave);
+		logger.info("Restarting wave {}/{}: shards {}", wave + 1, waves.size(), ids);
+
+		CompletableFuture<?>[] connected = new CompletableFuture<?>[ids.size()];
+		try {
+			for (int i = 0; i < connected.length; i++) {
+				int shardId = ids.get(i);
+				CompletableFuture<Void> shard = new CompletableFuture<>();
+				pending.put(shardId, shard);
+				connected[i] = shard.thenRun(restarted::incrementAndGet);
+				manager.restart(shardId);
+			}
+		} catch (RuntimeException e) {
+			// Fail instead of waiting for shards that were not restarted
+			logger.warn("Failed to restart wave {}/{}, stopping rolling restart", wave + 1, waves.size(), e);
+			ids.forEach(pending::remove);
+			future.completeExceptionally(e);
+			return;
+		}
+
+		CompletableFuture<Void> all = CompletableFuture.allOf(connected);
+		if (waveTimeout != null)
+			all = all.orTimeout(waveTimeout.toMillis(), TimeUnit.MILLISECONDS);
+
+		all.whenCompleteAsync((v, err) -> {
+			if (err != null) {
+				logger.warn("Wave {}/{} did not connect, stopping rolling restart", wave + 1, waves.size(), err);
+				ids.forEach(pending::remove);
+				future.completeExceptionally(err);
+			} else
+				restartWave(wave + 1);
+		});
+	}
+
+	@Override
+	public void onStatusChange(StatusChangeEvent event) {
+		if (event.getNewStatus() != Status.CONNECTED)
+			return;
+		CompletableFuture<Void> shard = pending.remove(event.getJDA().getShardInfo().getShardId());
+		if (shard != null)
+			shard.complete(null);
+	}
+
+	@Override
+	public List<Integer> getShards() {
+		return shards;
+	}
+
+	@Override
+	public int getShardsRestarted() {
+		return restarted.get();
+	}
+
+	@Override
+	public int getWaves() {
+		return waves.size();
+	}
+
+	@Override
+	public int getCurrentWave() {
+		return currentWave;
+	}
+
+	@Override
+	public boolean isDone() {
+		return future.isDone();
+	}
+
+	@Override
+	public boolean cancel() {
+		if (cancelled || future.isDone())
+			return false;
+		cancelled = true;
+		return true;
+	}
+
+	@Override
+	public CompletionStage<Void> whenComplete() {
+		return future.minimalCompletionStage();
+	}
+}
@@ -1,22 +1,61 @@
 package net.foxgenesis.springJDA.impl;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.function.IntFunction;
+import java.util.function.LongFunction;
 
-import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.lang.Nullable;
 
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDA.Status;
+import net.dv8tion.jda.api.entities.ApplicationInfo;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.Webhook;
+import net.dv8tion.jda.api.entities.channel.Channel;
+import net.dv8tion.jda.api.entities.channel.ChannelType;
+import net.dv8tion.jda.api.entities.channel.concrete.Category;
+import net.dv8tion.jda.api.entities.channel.concrete.ForumChannel;
+import net.dv8tion.jda.api.entities.channel.concrete.MediaChannel;
+import net.dv8tion.jda.api.entities.channel.concrete.NewsChannel;
+import net.dv8tion.jda.api.entities.channel.concrete.StageChannel;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.entities.channel.concrete.ThreadChannel;
+import net.dv8tion.jda.api.entities.channel.concrete.VoiceChannel;
+import net.dv8tion.jda.api.entities.channel.middleman.GuildChannel;
+import net.dv8tion.jda.api.entities.emoji.RichCustomEmoji;
 import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.sharding.ShardManager;
+import net.dv8tion.jda.api.utils.MiscUtil;
 import net.dv8tion.jda.api.utils.Once.Builder;
 import net.dv8tion.jda.api.utils.cache.ShardCacheView;
+import net.dv8tion.jda.api.utils.cache.SnowflakeCacheView;
+import net.dv8tion.jda.internal.requests.CompletedRestAction;
+import net.foxgenesis.springJDA.RollingRestart;
 import net.foxgenesis.springJDA.ShardedSpringJDA;
 import net.foxgenesis.springJDA.event.AllShardsCreatedEvent;
+import net.foxgenesis.springJDA.event.AllShardsReadyEvent;
+import net.foxgenesis.springJDA.impl.RequestCoalescer.Lookup;
 
 /**
  * Default implementation of {@link ShardedSpringJDA}.
+ * <p>
+ * If a {@link SnowflakeIndex} is set, lookups of guilds, roles, emojis and
+ * guild channels by id are answered from the cache of the owning shard
+ * instead of probing the cache of every shard. Once every shard is indexed, a
+ * miss is answered without probing any shard. If a {@link UserIndex} is set,
+ * the user cache contains every user once and users are looked up in a single
+ * shard.
  * 
  * @author Ashley
  * @see ShardedSpringJDA
@@ -24,8 +63,68 @@ import net.foxgenesis.springJDA.event.AllShardsCreatedEvent;
 public class DefaultShardedSpringJDA extends AbstractSpringJDA implements ShardedSpringJDA {
 	protected ShardManager manager;
 
+	@Nullable
+	private volatile SnowflakeIndex snowflakeIndex;
+
+	@Nullable
+	private volatile UserIndex userIndex;
+
+	private final RequestCoalescer coalescer = new RequestCoalescer();
+
+	@Nullable
+	private volatile Set<Integer> shardIds;
+
 	public DefaultShardedSpringJDA(ShardManager manager) {
+		this(manager, new EventDrain());
+	}
+
+	public DefaultShardedSpringJDA(ShardManager manager, EventDrain eventDrain) {
+		super(eventDrain);
 		this.manager = Objects.requireNonNull(manager);
+		this.manager.addEventListener(readiness, startupRecorder);
+	}
+
+	/**
+	 * Set the index used for lookups by id. The listener of the index must be
+	 * registered on every shard.
+	 * 
+	 * @param snowflakeIndex The index to use or {@code null} to probe the cache
+	 *                       of every shard
+	 */
+	public void setSnowflakeIndex(@Nullable SnowflakeIndex snowflakeIndex) {
+		this.snowflakeIndex = snowflakeIndex;
+	}
+
+	/**
+	 * Set the index used for the user cache and user lookups. The listener of the
+	 * index must be registered on every shard.
+	 * 
+	 * @param userIndex The index to use or {@code null} to use the user caches of
+	 *                  all shards
+	 */
+	public void setUserIndex(@Nullable UserIndex userIndex) {
+		this.userIndex = userIndex;
+	}
+
+	/**
+	 * Set the ids of the shards started by the shard manager. The amount of
+	 * shards to wait for on startup is taken from these ids.
+	 * 
+	 * @param shardIds The shard ids or {@code null} if the manager starts all
+	 *                 {@link ShardManager#getShardsTotal() shards}
+	 */
+	public void setShardIds(@Nullable Collection<Integer> shardIds) {
+		this.shardIds = shardIds == null ? null : Set.copyOf(shardIds);
+	}
+
+	/**
+	 * Get the coalescer sharing in-flight REST lookups between concurrent
+	 * callers.
+	 * 
+	 * @return The request coalescer of this instance
+	 */
+	public RequestCoalescer getRequestCoalescer() {
+		return coalescer;
 	}
 
 	@Override
@@ -40,31 +139,39 @@ public class DefaultShardedSpringJDA extends AbstractSpringJDA implements Sharde
 			logger.info("Starting all shards");
 			manager.login();
 		}
+
+		// Queued and running shards overlap while a shard is being created
+		Set<Integer> ids = shardIds;
+		readiness.expect(ids != null ? ids.size() : manager.getShardsTotal());
 	}
 	
 	@Override
 	protected void awaitReady() {
-		while (manager.getShardsRunning() < manager.getShardsTotal()) {
-			Thread.onSpinWait();
-		}
+		await(readiness.getAllCreated(), getReadyTimeout(), "created");
 
 		publisher.publishEvent(new AllShardsCreatedEvent(this));
 
 		logger.info("Waiting for all shards to be ready");
-		for (JDA jda : manager.getShards()) {
-			try {
-				jda.awaitReady();
-				logger.info("Shard {} ready", jda.getShardInfo().getShardString());
-			} catch (InterruptedException e) {
-				throw new BeanCreationException("Failed to start SpringJDA", e);
-			}
-		}
+		await(readiness.getReady(), getReadyTimeout(), "ready");
+
+		publisher.publishEvent(new AllShardsReadyEvent(this, readiness.getShardsReady()));
+	}
+
+	@Override
+	protected CompletableFuture<Void> awaitReadyAsync() {
+		return withTimeout(readiness.getAllCreated(), getReadyTimeout())
+				// Publish all shards created
+				.thenRun(() -> publisher.publishEvent(new AllShardsCreatedEvent(this)))
+				// Wait for all shards to be ready
+				.thenCompose(v -> withTimeout(readiness.getReady(), getReadyTimeout()))
+				// Publish all shards ready
+				.thenRun(() -> publisher.publishEvent(new AllShardsReadyEvent(this, readiness.getShardsReady())));
 	}
 
 	@Override
 	public void stop() {
 		logger.info("Shutting down all shards");
-		manager.shutdown();
+		drain(manager.getShards(), manager::shutdown);
 		manager = null;
 	}
 
@@ -85,11 +192,252 @@ public class DefaultShardedSpringJDA extends AbstractSpringJDA implements Sharde
 		}
 	}
 
+	@Override
+	public void restart(int shardId) {
+		manager.restart(shardId);
+	}
+
+	@Override
+	public RollingRestart restartRolling(Collection<Integer> shardIds, int waveSize, @Nullable Duration waveTimeout) {
+		if (manager == null)
+			throw new RejectedExecutionException("SpringJDA is already shutdown");
+		DefaultRollingRestart restart = new DefaultRollingRestart(manager, shardIds, waveSize, waveTimeout);
+		restart.start();
+		return restart;
+	}
+
+	@Override
+	public Guild getGuildById(long id) {
+		return lookup(Guild.class, id, ShardedSpringJDA.super::getGuildById);
+	}
+
+	@Override
+	public Role getRoleById(long id) {
+		return lookup(Role.class, id, ShardedSpringJDA.super::getRoleById);
+	}
+
+	@Override
+	public Role getRoleById(String id) {
+		return getRoleById(MiscUtil.parseSnowflake(id));
+	}
+
+	@Override
+	public RichCustomEmoji getEmojiById(long id) {
+		return lookup(RichCustomEmoji.class, id, ShardedSpringJDA.super::getEmojiById);
+	}
+
+	@Override
+	public RichCustomEmoji getEmojiById(String id) {
+		return getEmojiById(MiscUtil.parseSnowflake(id));
+	}
+
+	@Override
+	public GuildChannel getGuildChannelById(long id) {
+		return lookup(GuildChannel.class, id, ShardedSpringJDA.super::getGuildChannelById);
+	}
+
+	@Override
+	public GuildChannel getGuildChannelById(String id) {
+		return getGuildChannelById(MiscUtil.parseSnowflake(id));
+	}
+
+	@Override
+	public Category getCategoryById(long id) {
+		return lookup(Category.class, id, ShardedSpringJDA.super::getCategoryById);
+	}
+
+	@Override
+	public Category getCategoryById(String id) {
+		return getCategoryById(MiscUtil.parseSnowflake(id));
+	}
+
+	@Override
+	public TextChannel getTextChannelById(long id) {
+		return lookup(TextChannel.class, id, ShardedSpringJDA.super::getTextChannelById);
+	}
+
+	@Override
+	public TextChannel getTextChannelById(String id) {
+		return getTextChannelById(MiscUtil.parseSnowflake(id));
+	}
+
+	@Override
+	public NewsChannel getNewsChannelById(long id) {
+		return lookup(NewsChannel.class, id, ShardedSpringJDA.super::getNewsChannelById);
+	}
+
+	@Override
+	public NewsChannel getNewsChannelById(String id) {
+		return getNewsChannelById(MiscUtil.parseSnowflake(id));
+	}
+
+	@Override
+	public VoiceChannel getVoiceChannelById(long id) {
+		return lookup(VoiceChannel.class, id, ShardedSpringJDA.super::getVoiceChannelById);
+	}
+
+	@Override
+	public VoiceChannel getVoiceChannelById(String id) {
+		return getVoiceChannelById(MiscUtil.parseSnowflake(id));
+	}
+
+	@Override
+	public StageChannel getStageChannelById(long id) {
+		return lookup(StageChannel.class, id, ShardedSpringJDA.super::getStageChannelById);
+	}
+
+	@Override
+	public StageChannel getStageChannelById(String id) {
+		return getStageChannelById(MiscUtil.parseSnowflake(id));
+	}
+
+	@Override
+	public ThreadChannel getThreadChannelById(long id) {
+		return lookup(ThreadChannel.class, id, ShardedSpringJDA.super::getThreadChannelById);
+	}
+
+	@Override
+	public ThreadChannel getThreadChannelById(String id) {
+		return getThreadChannelById(MiscUtil.parseSnowflake(id));
+	}
+
+	@Override
+	public ForumChannel getForumChannelById(long id) {
+		return lookup(ForumChannel.class, id, ShardedSpringJDA.super::getForumChannelById);
+	}
+
+	@Override
+	public ForumChannel getForumChannelById(String id) {
+		return getForumChannelById(MiscUtil.parseSnowflake(id));
+	}
+
+	@Override
+	public MediaChannel getMediaChannelById(long id) {
+		return lookup(MediaChannel.class, id, ShardedSpringJDA.super::getMediaChannelById);
+	}
+
+	@Override
+	public MediaChannel getMediaChannelById(String id) {
+		return getMediaChannelById(MiscUtil.parseSnowflake(id));
+	}
+
+	@Override
+	public GuildChannel getGuildChannelById(ChannelType type, long id) {
+		GuildChannel channel = lookup(GuildChannel.class, id,
+				channelId -> ShardedSpringJDA.super.getGuildChannelById(type, channelId));
+		return channel != null && channel.getType() == type ? channel : null;
+	}
+
+	@Override
+	public GuildChannel getGuildChannelById(ChannelType type, String id) {
+		return getGuildChannelById(type, MiscUtil.parseSnowflake(id));
+	}
+
+	@Override
+	public <T extends Channel> T getChannelById(Class<T> type, long id) {
+		// Private channels are not indexed
+		if (!GuildChannel.class.isAssignableFrom(type))
+			return ShardedSpringJDA.super.getChannelById(type, id);
+		return lookup(type, id, channelId -> ShardedSpringJDA.super.getChannelById(type, channelId));
+	}
+
+	/**
+	 * Find an entity in the snowflake index. A miss falls back to the caches of
+	 * the shards until every shard is indexed.
+	 */
+	@Nullable
+	private <T> T lookup(Class<T> type, long id, LongFunction<T> fallback) {
+		SnowflakeIndex index = snowflakeIndex;
+		if (index == null)
+			return fallback.apply(id);
+
+		T entity = index.get(type, id);
+		if (entity != null)
+			return entity;
+
+		// Shards that are still loading may cache entities that are not indexed yet
+		ShardManager manager = this.manager;
+		return manager != null && index.getIndexedShards() >= manager.getShardCache().size() ? null
+				: fallback.apply(id);
+	}
+
+	@Override
+	public SnowflakeCacheView<User> getUserCache() {
+		UserIndex index = userIndex;
+		return index != null ? index.getCacheView() : ShardedSpringJDA.super.getUserCache();
+	}
+
+	@Override
+	public User getUserById(long id) {
+		UserIndex index = userIndex;
+		User user = index == null ? null : index.getUser(id);
+		// Users cached without an event are not indexed
+		return user != null ? user : ShardedSpringJDA.super.getUserById(id);
+	}
+
+	@Override
+	public User getUserById(String id) {
+		return getUserById(MiscUtil.parseSnowflake(id));
+	}
+
+	@Override
+	public RestAction<User> retrieveUserById(long id) {
+		UserIndex index = userIndex;
+		JDA shard = index == null ? null : index.getShard(id);
+		if (shard == null) {
+			// Users cached without an event are not indexed, search every shard
+			RestAction<User> action = ShardedSpringJDA.super.retrieveUserById(id);
+			if (action instanceof CompletedRestAction)
+				return action;
+			return coalescer.coalesce(action.getJDA(), Lookup.USER, id, () -> action);
+		}
+
+		User user = shard.getUserById(id);
+		if (user != null) {
+			// Only return cached users that are kept up to date
+			EnumSet<GatewayIntent> intents = shard.getGatewayIntents();
+			if (intents.contains(GatewayIntent.GUILD_PRESENCES) || intents.contains(GatewayIntent.GUILD_MEMBERS))
+				return new CompletedRestAction<>(shard, user);
+		}
+		return coalescer.coalesce(shard, Lookup.USER, id, () -> shard.retrieveUserById(id));
+	}
+
+	@Override
+	public RestAction<Command> retrieveCommandById(String id) {
+		JDA any = anyShard();
+		return coalescer.coalesce(any, Lookup.COMMAND, MiscUtil.parseSnowflake(id),
+				() -> any.retrieveCommandById(id));
+	}
+
+	@Override
+	public RestAction<Webhook> retrieveWebhookById(String webhookId) {
+		JDA any = anyShard();
+		return coalescer.coalesce(any, Lookup.WEBHOOK, MiscUtil.parseSnowflake(webhookId),
+				() -> any.retrieveWebhookById(webhookId));
+	}
+
+	@Override
+	public RestAction<ApplicationInfo> retrieveApplicationInfo() {
+		JDA any = anyShard();
+		// The application is the same for every shard
+		return coalescer.coalesce(any, Lookup.APPLICATION_INFO, Lookup.APPLICATION_INFO, any::retrieveApplicationInfo);
+	}
+
+	private JDA anyShard() {
+		return getShardCache().stream().findAny().orElseThrow(() -> new IllegalStateException("no active shards"));
+	}
+
 	@Override
 	public int getShardsQueued() {
 		return manager.getShardsQueued();
 	}
 
+	@Override
+	public int getShardsTotal() {
+		// Not limited to the shards of this manager when shards are distributed
+		return manager.getShardsTotal();
+	}
+
 	@Override
 	public ShardCacheView getShardCache() {
 		return manager.getShardCache();
@@ -10,6 +10,7 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
@@ -78,41 +79,43 @@ public class DefaultSingleSpringJDA extends AbstractSpringJDA implements SingleS
 	private JDA jda;
 
 	public DefaultSingleSpringJDA(JDABuilder builder) {
+		this(builder, new EventDrain());
+	}
+
+	public DefaultSingleSpringJDA(JDABuilder builder, EventDrain eventDrain) {
+		super(eventDrain);
 		this.builder = Objects.requireNonNull(builder);
+		this.builder.addEventListeners(readiness, startupRecorder);
 	}
 
 	@Override
 	protected void startJDA() {
-		if (jda == null) {
+		if (!isRunning()) {
 			logger.info("Starting");
 			jda = builder.build();
 		}
+
+		readiness.expect(1);
+
+		// An already connected instance will not fire another ReadyEvent
+		if (jda.getStatus() == Status.CONNECTED)
+			readiness.markReady(jda);
 	}
 	
 	@Override
 	protected void awaitReady() {
-		try {
-			jda.awaitReady();
-		} catch (InterruptedException e) {
-			logger.warn("Interrupted while waiting for JDA to be ready", e);
-		}
+		await(readiness.getReady(), getReadyTimeout(), "ready");
+	}
+
+	@Override
+	protected CompletableFuture<Void> awaitReadyAsync() {
+		return withTimeout(readiness.getReady(), getReadyTimeout());
 	}
 
 	@Override
 	public void stop() {
 		if (jda != null) {
-			jda.shutdown();
-
-			try {
-				// Allow at most 10 seconds for remaining requests to finish
-				if (!jda.awaitShutdown(Duration.ofSeconds(10))) {
-					jda.shutdownNow(); // Cancel all remaining requests
-					jda.awaitShutdown(); // Wait until shutdown is complete (indefinitely)
-				}
-			} catch (InterruptedException e) {
-				logger.warn("Interrupted while waiting for shutdown", e);
-			}
-
+			drain(List.of(jda), jda::shutdown);
 			jda = null;
 		}
 	}
@@ -0,0 +1,156 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.StatusChangeEvent;
+import net.dv8tion.jda.api.events.session.GenericSessionEvent;
+import net.dv8tion.jda.api.hooks.IEventManager;
+import net.dv8tion.jda.api.hooks.InterfacedEventManager;
+
+/**
+ * In-flight accounting for event handlers shared by every shard. Event managers
+ * {@link #wrap(IEventManager) wrapped} by this drain count the events that are
+ * currently being handled. Once {@link #startDrain() draining} has started,
+ * new gateway events are dropped while lifecycle events such as
+ * {@link StatusChangeEvent} and {@link GenericSessionEvent} are still
+ * delivered.
+ * <p>
+ * Only events handled synchronously by the wrapped event manager are
+ * accounted for.
+ *
+ * @author Ashley
+ */
+public final class EventDrain {
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private final LongAdder dropped = new LongAdder();
+
+	private final Object lock = new Object();
+
+	private volatile boolean draining;
+
+	/**
+	 * Wrap an event manager to account for its in-flight events.
+	 *
+	 * @param delegate The event manager to wrap or {@code null} to wrap the
+	 *                 default {@link InterfacedEventManager}
+	 *
+	 * @return The wrapped event manager
+	 */
+	@NonNull
+	public IEventManager wrap(@Nullable IEventManager delegate) {
+		return new DrainingEventManager(delegate == null ? new InterfacedEventManager() : delegate);
+	}
+
+	/**
+	 * Start dropping new gateway events.
+	 */
+	public void startDrain() {
+		draining = true;
+	}
+
+	/**
+	 * Accept events again and clear the dropped event count.
+	 */
+	public void reset() {
+		draining = false;
+		dropped.reset();
+	}
+
+	/**
+	 * Block the current thread until no events are being handled.
+	 *
+	 * @param timeout The maximum time to wait
+	 *
+	 * @return {@code true} if no events are being handled
+	 *
+	 * @throws InterruptedException If the current thread was interrupted while
+	 *                              waiting
+	 */
+	public boolean awaitIdle(Duration timeout) throws InterruptedException {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		synchronized (lock) {
+			while (inFlight.get() > 0) {
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0)
+					return false;
+				TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the amount of events that are currently being handled.
+	 *
+	 * @return The amount of in-flight events
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * Get the amount of events dropped since draining started.
+	 *
+	 * @return The amount of dropped events
+	 */
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	private static boolean isLifecycleEvent(GenericEvent event) {
+		return event instanceof StatusChangeEvent || event instanceof GenericSessionEvent;
+	}
+
+	private final class DrainingEventManager implements IEventManager {
+		private final IEventManager delegate;
+
+		DrainingEventManager(IEventManager delegate) {
+			this.delegate = Objects.requireNonNull(delegate);
+		}
+
+		@Override
+		public void handle(GenericEvent event) {
+			if (draining && !isLifecycleEvent(event)) {
+				dropped.increment();
+				return;
+			}
+
+			inFlight.incrementAndGet();
+			try {
+				delegate.handle(event);
+			} finally {
+				if (inFlight.decrementAndGet() == 0 && draining) {
+					synchronized (lock) {
+						lock.notifyAll();
+					}
+				}
+			}
+		}
+
+		@Override
+		public void register(Object listener) {
+			delegate.register(listener);
+		}
+
+		@Override
+		public void unregister(Object listener) {
+			delegate.unregister(listener);
+		}
+
+		@Override
+		public List<Object> getRegisteredListeners() {
+			return delegate.getRegisteredListeners();
+		}
+	}
+}
@@ -0,0 +1,312 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.lang.NonNull;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.events.guild.GuildJoinEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.api.events.guild.GuildReadyEvent;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.session.ReadyEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.foxgenesis.springJDA.CommandRegistry;
+import net.foxgenesis.springJDA.annotation.GuildCommand;
+import net.foxgenesis.springJDA.autoconfigure.SpringJDAConfiguration;
+import net.foxgenesis.springJDA.provider.GuildCommandProvider;
+
+/**
+ * Synchronizes guild commands provided by {@link GuildCommandProvider} beans
+ * and {@link GuildCommand @GuildCommand} beans with every guild.
+ * <p>
+ * Guilds of all shards are collected into a single queue as they become
+ * ready. Guilds that were active most recently are synchronized first, and at
+ * most {@link SpringJDAConfiguration#guildCommandSyncConcurrency()} uploads
+ * are in flight at once. Each upload replaces all commands of a guild in a
+ * single request. A fingerprint of the commands of every guild is stored in
+ * the command cache directory, and guilds whose fingerprint did not change are
+ * skipped.
+ *
+ * @author Ashley
+ */
+public class GuildCommandSync {
+	private final Logger logger = LoggerFactory.getLogger(CommandRegistry.class);
+
+	private final SpringJDAConfiguration config;
+
+	private final ConfigurableListableBeanFactory ctx;
+
+	private final Map<Long, String> fingerprints = new ConcurrentHashMap<>();
+
+	private final Map<Long, Long> lastActive = new ConcurrentHashMap<>();
+
+	private final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparingLong(Entry::active).reversed());
+
+	private final Set<Long> queued = new HashSet<>();
+
+	private final ListenerAdapter listener = new ListenerAdapter() {
+		@Override
+		public void onGuildReady(GuildReadyEvent event) {
+			// Collect guilds until the shard is ready
+			enqueue(event.getGuild(), false);
+		}
+
+		@Override
+		public void onReady(ReadyEvent event) {
+			pump();
+		}
+
+		@Override
+		public void onGuildJoin(GuildJoinEvent event) {
+			lastActive.put(event.getGuild().getIdLong(), System.currentTimeMillis());
+			enqueue(event.getGuild(), true);
+		}
+
+		@Override
+		public void onGuildLeave(GuildLeaveEvent event) {
+			fingerprints.remove(event.getGuild().getIdLong());
+			lastActive.remove(event.getGuild().getIdLong());
+		}
+
+		@Override
+		public void onGenericInteractionCreate(GenericInteractionCreateEvent event) {
+			Guild guild = event.getGuild();
+			if (guild != null)
+				lastActive.put(guild.getIdLong(), System.currentTimeMillis());
+		}
+	};
+
+	private int inFlight;
+
+	private int uploaded;
+
+	private int skipped;
+
+	private int failed;
+
+	private long applicationId;
+
+	private volatile Boolean enabled;
+
+	public GuildCommandSync(@NonNull SpringJDAConfiguration config, @NonNull ConfigurableListableBeanFactory ctx) {
+		this.config = Objects.requireNonNull(config);
+		this.ctx = Objects.requireNonNull(ctx);
+	}
+
+	/**
+	 * Get the event listener that must be registered on every shard.
+	 *
+	 * @return The guild listener of this sync
+	 */
+	@NonNull
+	public Object getListener() {
+		return listener;
+	}
+
+	/**
+	 * Queue a guild for synchronization.
+	 *
+	 * @param guild The guild to synchronize
+	 */
+	public void sync(@NonNull Guild guild) {
+		enqueue(guild, true);
+	}
+
+	private void enqueue(Guild guild, boolean start) {
+		if (!isEnabled())
+			return;
+		load(guild.getJDA().getSelfUser().getApplicationIdLong());
+
+		synchronized (queue) {
+			if (queued.add(guild.getIdLong()))
+				queue.add(new Entry(guild, lastActive.getOrDefault(guild.getIdLong(), 0L)));
+		}
+		if (start)
+			pump();
+	}
+
+	/**
+	 * Start uploads until the concurrency limit is reached.
+	 */
+	private void pump() {
+		boolean done;
+		while (true) {
+			Guild guild;
+			synchronized (queue) {
+				if (inFlight >= config.guildCommandSyncConcurrency() || queue.isEmpty()) {
+					done = inFlight == 0 && queue.isEmpty() && uploaded + skipped + failed > 0;
+					break;
+				}
+				guild = queue.poll().guild();
+				queued.remove(guild.getIdLong());
+				inFlight++;
+			}
+			upload(guild);
+		}
+
+		if (done)
+			finish();
+	}
+
+	/**
+	 * Upload the commands of a guild if they changed. Unchanged guilds are
+	 * released immediately without continuing the queue.
+	 */
+	private void upload(Guild guild) {
+		List<CommandData> commands;
+		try {
+			commands = getCommands(guild);
+		} catch (RuntimeException e) {
+			logger.error("Failed to get commands for guild {}", guild.getId(), e);
+			release(null);
+			return;
+		}
+
+		String fingerprint = CommandFingerprint.of(commands);
+		if (fingerprint.equals(fingerprints.get(guild.getIdLong()))) {
+			release(false);
+			return;
+		}
+
+		guild.updateCommands().addCommands(commands).submit().whenComplete((result, err) -> {
+			if (err != null)
+				logger.warn("Failed to upload {} commands to guild {}", commands.size(), guild.getId(), err);
+			else
+				fingerprints.put(guild.getIdLong(), fingerprint);
+			release(err == null ? true : null);
+			pump();
+		});
+	}
+
+	/**
+	 * Release an upload slot.
+	 *
+	 * @param uploaded {@code true} if the commands were uploaded, {@code false}
+	 *                 if they were unchanged or {@code null} if the upload
+	 *                 failed
+	 */
+	private void release(Boolean uploaded) {
+		synchronized (queue) {
+			inFlight--;
+			if (uploaded == null)
+				failed++;
+			else if (uploaded)
+				this.uploaded++;
+			else
+				skipped++;
+		}
+	}
+
+	private void finish() {
+		int uploaded, skipped, failed;
+		synchronized (queue) {
+			uploaded = this.uploaded;
+			skipped = this.skipped;
+			failed = this.failed;
+			this.uploaded = this.skipped = this.failed = 0;
+		}
+		logger.info("Guild command sync: {} guilds uploaded, {} unchanged, {} failed", uploaded, skipped, failed);
+		store();
+	}
+
+	private boolean isEnabled() {
+		Boolean enabled = this.enabled;
+		if (enabled == null) {
+			// Leave guild commands untouched if the application does not provide any
+			enabled = config.updateCommands() && (ctx.getBeanNamesForType(GuildCommandProvider.class).length > 0
+					|| config.annotationConfiguration() && ctx.getBeanNamesForAnnotation(GuildCommand.class).length > 0);
+			this.enabled = enabled;
+		}
+		return enabled;
+	}
+
+	private List<CommandData> getCommands(Guild guild) {
+		List<CommandData> commands = new ArrayList<>();
+
+		// Get commands of GuildCommandProvider beans
+		ctx.getBeanProvider(GuildCommandProvider.class)
+				.forEach(provider -> commands.addAll(provider.getCommandData(guild)));
+
+		// If annotation configuration is enabled, add @GuildCommand beans
+		if (config.annotationConfiguration())
+			for (String name : ctx.getBeanNamesForAnnotation(GuildCommand.class)) {
+				if (!ctx.isTypeMatch(name, CommandData.class))
+					continue;
+				long[] guilds = ctx.findAnnotationOnBean(name, GuildCommand.class).value();
+				if (guilds.length == 0 || Arrays.stream(guilds).anyMatch(id -> id == guild.getIdLong()))
+					commands.add(ctx.getBean(name, CommandData.class));
+			}
+
+		return commands;
+	}
+
+	private synchronized void load(long applicationId) {
+		if (this.applicationId == applicationId)
+			return;
+		this.applicationId = applicationId;
+
+		Path file = file();
+		try {
+			DataObject guilds = DataObject.fromJson(Files.readAllBytes(file)).getObject("guilds");
+			for (String id : guilds.keys()) {
+				DataObject guild = guilds.getObject(id);
+				fingerprints.putIfAbsent(Long.parseUnsignedLong(id), guild.getString("fingerprint"));
+				lastActive.putIfAbsent(Long.parseUnsignedLong(id), guild.getLong("active", 0));
+			}
+		} catch (NoSuchFileException e) {
+			// First run
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Failed to read guild command cache {}", file, e);
+		}
+	}
+
+	private synchronized void store() {
+		if (applicationId == 0)
+			return;
+
+		DataObject guilds = DataObject.empty();
+		fingerprints.forEach((id, fingerprint) -> guilds.put(Long.toUnsignedString(id),
+				DataObject.empty().put("fingerprint", fingerprint).put("active", lastActive.getOrDefault(id, 0L))));
+
+		Path file = file();
+		try {
+			// Write atomically so concurrent readers never see a partial file
+			Files.createDirectories(file.getParent());
+			Path temp = Files.createTempFile(file.getParent(), "guild-commands", ".tmp");
+			Files.write(temp, DataObject.empty().put("guilds", guilds).toJson());
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			logger.warn("Failed to write guild command cache {}", file, e);
+		}
+	}
+
+	private Path file() {
+		return config.commandCacheDirectory()
+				.resolve("guild-commands-" + Long.toUnsignedString(applicationId) + ".json");
+	}
+
+	/**
+	 * Queued guild with its activity at the time it was queued.
+	 */
+	private record Entry(Guild guild, long active) {}
+}
@@ -0,0 +1,157 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.NonNull;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.JDA.ShardInfo;
+import net.dv8tion.jda.api.utils.ConcurrentSessionController;
+import net.foxgenesis.springJDA.SpringJDA;
+
+/**
+ * {@link ConcurrentSessionController} that records how long every shard waited
+ * in the identify queue. The shard manager configures the concurrency from the
+ * {@code max_concurrency} returned by {@code /gateway/bot}, creating one
+ * identify bucket per {@code shardId % max_concurrency} that runs in parallel.
+ * <p>
+ * Every queued identify is recorded as a {@code SpringJDA.shard.identifyQueue}
+ * {@link StartupStep} tagged with the time waited and the last wait of each
+ * shard is available through {@link #getQueueWaits()}. Shards wait in the
+ * queue concurrently, so the step is only started once the wait ended to keep
+ * steps from nesting under each other.
+ *
+ * @author Ashley
+ */
+public class InstrumentedSessionController extends ConcurrentSessionController {
+	private final Logger logger = LoggerFactory.getLogger(SpringJDA.class);
+
+	private final ApplicationStartup startup;
+
+	private final Map<SessionConnectNode, TimedNode> queued = new ConcurrentHashMap<>();
+
+	private final Map<Integer, Duration> waits = new ConcurrentHashMap<>();
+
+	private volatile int concurrency = 1;
+
+	public InstrumentedSessionController(@NonNull ApplicationStartup startup) {
+		this.startup = Objects.requireNonNull(startup);
+	}
+
+	@Override
+	public void setConcurrency(int level) {
+		logger.info("Identifying shards in {} parallel buckets", level);
+		this.concurrency = level;
+		super.setConcurrency(level);
+	}
+
+	/**
+	 * Get the amount of identify buckets that run in parallel.
+	 *
+	 * @return The {@code max_concurrency} of the bot
+	 */
+	protected int getConcurrency() {
+		return concurrency;
+	}
+
+	@Override
+	public void appendSession(SessionConnectNode node) {
+		TimedNode timed = new TimedNode(node);
+		queued.put(node, timed);
+		super.appendSession(timed);
+	}
+
+	@Override
+	public void removeSession(SessionConnectNode node) {
+		TimedNode timed = queued.remove(node);
+		if (timed != null)
+			timed.record(Duration.ofNanos(System.nanoTime() - timed.queuedAt)).tag("removed", "true").end();
+		super.removeSession(timed == null ? node : timed);
+	}
+
+	/**
+	 * Called from the bucket worker before a queued session identifies. The time
+	 * spent in this method is counted as queue wait.
+	 *
+	 * @param node The session about to identify
+	 *
+	 * @throws InterruptedException If the worker was interrupted while waiting
+	 */
+	protected void beforeIdentify(SessionConnectNode node) throws InterruptedException {}
+
+	/**
+	 * Called from the bucket worker after a queued session has identified or
+	 * failed to identify.
+	 *
+	 * @param node The session that identified
+	 */
+	protected void afterIdentify(SessionConnectNode node) {}
+
+	/**
+	 * Get the time each shard last waited in the identify queue.
+	 *
+	 * @return An unmodifiable map of shard id to queue wait
+	 */
+	@NonNull
+	public Map<Integer, Duration> getQueueWaits() {
+		return Collections.unmodifiableMap(waits);
+	}
+
+	/**
+	 * Node that records the time between being queued and being run.
+	 */
+	private final class TimedNode implements SessionConnectNode {
+		private final SessionConnectNode node;
+		private final long queuedAt = System.nanoTime();
+
+		TimedNode(SessionConnectNode node) {
+			this.node = node;
+		}
+
+		StartupStep record(Duration wait) {
+			return startup.start("SpringJDA.shard.identifyQueue")
+					.tag("shard", node.getShardInfo().getShardString())
+					.tag("reconnect", Boolean.toString(node.isReconnect()))
+					.tag("wait", wait.toString());
+		}
+
+		@Override
+		public boolean isReconnect() {
+			return node.isReconnect();
+		}
+
+		@Override
+		public JDA getJDA() {
+			return node.getJDA();
+		}
+
+		@Override
+		public ShardInfo getShardInfo() {
+			return node.getShardInfo();
+		}
+
+		@Override
+		public void run(boolean isLast) throws InterruptedException {
+			beforeIdentify(node);
+			if (queued.remove(node, this)) {
+				Duration wait = Duration.ofNanos(System.nanoTime() - queuedAt);
+				waits.put(node.getShardInfo().getShardId(), wait);
+				record(wait).end();
+				logger.debug("Shard {} waited {} in the identify queue", node.getShardInfo().getShardString(), wait);
+			}
+			try {
+				node.run(isLast);
+			} finally {
+				afterIdentify(node);
+			}
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package net.foxgenesis.springJDA.impl;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Open addressing hash table keyed by primitive {@code long} values such as
+ * snowflake ids. Lookups do not box keys or allocate. The table is sized once
+ * for the expected amount of entries and must not be modified after it has
+ * been published.
+ *
+ * @param <V> The value type
+ *
+ * @author Ashley
+ */
+final class LongTable<V> {
+	private final long[] keys;
+
+	private final Object[] values;
+
+	private final int mask;
+
+	private int size;
+
+	LongTable(int expected) {
+		// Load factor of at most 0.5
+		int capacity = Integer.highestOneBit(Math.max(1, expected) * 4 - 1);
+		this.keys = new long[capacity];
+		this.values = new Object[capacity];
+		this.mask = capacity - 1;
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	V get(long key) {
+		for (int i = slot(key);; i = (i + 1) & mask) {
+			Object value = values[i];
+			if (value == null || keys[i] == key)
+				return (V) value;
+		}
+	}
+
+	void put(long key, V value) {
+		int i = slot(key);
+		while (values[i] != null && keys[i] != key)
+			i = (i + 1) & mask;
+		if (values[i] == null) {
+			if (size == mask)
+				throw new IllegalStateException("Table is full");
+			size++;
+		}
+		keys[i] = key;
+		values[i] = value;
+	}
+
+	int size() {
+		return size;
+	}
+
+	private int slot(long key) {
+		// Snowflakes share their upper bits, mix before masking
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+}
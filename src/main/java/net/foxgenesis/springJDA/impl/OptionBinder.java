@@ -0,0 +1,348 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.lang.Nullable;
+
+import net.dv8tion.jda.api.entities.IMentionable;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.middleman.GuildChannel;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
+import net.dv8tion.jda.api.interactions.commands.build.SubcommandGroupData;
+import net.foxgenesis.springJDA.annotation.Option;
+
+/**
+ * Compiles the parameters of a handler method into a single
+ * {@link MethodHandle} of type {@code (SlashCommandInteractionEvent)void}.
+ * Each parameter is bound to either the event, a command option or a record
+ * whose components are bound to command options. Bindings are checked against
+ * the declared {@link OptionData} of the command when it is known.
+ *
+ * @author Ashley
+ */
+final class OptionBinder {
+	private static final Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final MethodType EXTRACTOR = MethodType.methodType(Object.class, SlashCommandInteractionEvent.class,
+			String.class);
+
+	private final String path;
+
+	@Nullable
+	private final Map<String, OptionData> options;
+
+	/**
+	 * Create a binder for a command.
+	 *
+	 * @param path The normalized command path
+	 * @param data The declared command or {@code null} if it is unknown
+	 *
+	 * @throws BeanInitializationException If the command does not declare the
+	 *                                     subcommand of the path
+	 */
+	OptionBinder(String path, @Nullable SlashCommandData data) {
+		this.path = path;
+		if (data == null)
+			this.options = null;
+		else {
+			this.options = findOptions(data, path.split(" "));
+			if (options == null)
+				throw new BeanInitializationException("Failed to bind options of '" + path + "': command '"
+						+ data.getName() + "' does not declare this subcommand");
+		}
+	}
+
+	/**
+	 * Bind all parameters of a handler.
+	 *
+	 * @param method The handler method used for parameter metadata
+	 * @param target Handle invoking the method with the bean already bound
+	 *
+	 * @return A handle of type {@code (SlashCommandInteractionEvent)void}
+	 */
+	MethodHandle bind(Method method, MethodHandle target) {
+		Parameter[] parameters = method.getParameters();
+		MethodHandle[] extractors = new MethodHandle[parameters.length];
+		for (int i = 0; i < parameters.length; i++)
+			extractors[i] = parameter(parameters[i].getType(), parameters[i], parameters[i].getName(),
+					parameters[i].isNamePresent(), method);
+
+		// Call every extractor with the same event
+		MethodHandle filtered = MethodHandles.filterArguments(target, 0, extractors);
+		MethodHandle bound = MethodHandles.permuteArguments(filtered,
+				MethodType.methodType(filtered.type().returnType(), SlashCommandInteractionEvent.class),
+				new int[parameters.length]);
+		return bound.asType(MethodType.methodType(void.class, SlashCommandInteractionEvent.class));
+	}
+
+	private MethodHandle parameter(Class<?> type, AnnotatedElement element, String name, boolean namePresent,
+			Object owner) {
+		if (type.isAssignableFrom(SlashCommandInteractionEvent.class))
+			return MethodHandles.identity(SlashCommandInteractionEvent.class)
+					.asType(MethodType.methodType(type, SlashCommandInteractionEvent.class));
+
+		Option option = element.getAnnotation(Option.class);
+		if (option == null && type.isRecord())
+			return record(type);
+
+		if (option == null && !namePresent)
+			throw fail(owner, "parameter names are not available, annotate " + element + " with @Option");
+		return option(type, option != null ? option.value() : name, owner);
+	}
+
+	private MethodHandle record(Class<?> type) {
+		RecordComponent[] components = type.getRecordComponents();
+		Class<?>[] types = Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new);
+
+		MethodHandle constructor;
+		try {
+			constructor = MethodHandles.privateLookupIn(type, LOOKUP).findConstructor(type,
+					MethodType.methodType(void.class, types));
+		} catch (ReflectiveOperationException e) {
+			throw new BeanInitializationException("Canonical constructor of " + type + " is not accessible", e);
+		}
+
+		MethodHandle[] extractors = new MethodHandle[components.length];
+		for (int i = 0; i < components.length; i++)
+			extractors[i] = parameter(types[i], components[i], components[i].getName(), true, type);
+
+		MethodHandle filtered = MethodHandles.filterArguments(constructor, 0, extractors);
+		return MethodHandles.permuteArguments(filtered, MethodType.methodType(type, SlashCommandInteractionEvent.class),
+				new int[components.length]);
+	}
+
+	private MethodHandle option(Class<?> type, String name, Object owner) {
+		Binding binding = Binding.of(type);
+		if (binding == null)
+			throw fail(owner, "unsupported option type " + type.getName() + " of option '" + name + "'");
+
+		// Check against the declared option
+		if (options != null) {
+			OptionData declared = options.get(name);
+			if (declared == null)
+				throw fail(owner, "option '" + name + "' is not declared");
+			if (!binding.types.contains(declared.getType()))
+				throw fail(owner, "option '" + name + "' of type " + declared.getType() + " can not be bound to "
+						+ type.getName());
+			if (type.isPrimitive() && !declared.isRequired())
+				throw fail(owner, "optional option '" + name + "' can not be bound to primitive " + type.getName());
+		}
+
+		MethodHandle extractor = MethodHandles.insertArguments(binding.handle, 1, name);
+		if (type.isEnum())
+			extractor = MethodHandles.insertArguments(
+					MethodHandles.insertArguments(ENUM_VALUE, 1, name), 1, constants(type));
+		return extractor.asType(MethodType.methodType(type, SlashCommandInteractionEvent.class));
+	}
+
+	private BeanInitializationException fail(Object owner, String message) {
+		return new BeanInitializationException("Failed to bind options of '" + path + "' for " + owner + ": " + message);
+	}
+
+	@Nullable
+	private static Map<String, OptionData> findOptions(SlashCommandData data, String[] parts) {
+		List<OptionData> declared = null;
+		if (parts.length == 1)
+			declared = data.getOptions();
+		else if (parts.length == 2) {
+			for (SubcommandData subcommand : data.getSubcommands())
+				if (subcommand.getName().equals(parts[1]))
+					declared = subcommand.getOptions();
+		} else
+			for (SubcommandGroupData group : data.getSubcommandGroups())
+				if (group.getName().equals(parts[1]))
+					for (SubcommandData subcommand : group.getSubcommands())
+						if (subcommand.getName().equals(parts[2]))
+							declared = subcommand.getOptions();
+
+		if (declared == null)
+			return null;
+		Map<String, OptionData> options = new HashMap<>();
+		declared.forEach(option -> options.put(option.getName(), option));
+		return options;
+	}
+
+	private static Map<String, Object> constants(Class<?> type) {
+		Map<String, Object> constants = new HashMap<>();
+		for (Object constant : type.getEnumConstants())
+			constants.put(((Enum<?>) constant).name().toLowerCase(Locale.ROOT), constant);
+		return constants;
+	}
+
+	// Extractors
+
+	private static final MethodHandle ENUM_VALUE;
+
+	static {
+		try {
+			ENUM_VALUE = LOOKUP.findStatic(OptionBinder.class, "enumValue", MethodType.methodType(Object.class,
+					SlashCommandInteractionEvent.class, String.class, Map.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static OptionMapping required(SlashCommandInteractionEvent event, String name) {
+		OptionMapping option = event.getOption(name);
+		if (option == null)
+			throw new IllegalArgumentException("Missing required option '" + name + "'");
+		return option;
+	}
+
+	static Object mapping(SlashCommandInteractionEvent event, String name) {
+		return event.getOption(name);
+	}
+
+	static Object string(SlashCommandInteractionEvent event, String name) {
+		OptionMapping option = event.getOption(name);
+		return option == null ? null : option.getAsString();
+	}
+
+	static long longValue(SlashCommandInteractionEvent event, String name) {
+		return required(event, name).getAsLong();
+	}
+
+	static Object boxedLong(SlashCommandInteractionEvent event, String name) {
+		OptionMapping option = event.getOption(name);
+		return option == null ? null : option.getAsLong();
+	}
+
+	static int intValue(SlashCommandInteractionEvent event, String name) {
+		return required(event, name).getAsInt();
+	}
+
+	static Object boxedInt(SlashCommandInteractionEvent event, String name) {
+		OptionMapping option = event.getOption(name);
+		return option == null ? null : option.getAsInt();
+	}
+
+	static double doubleValue(SlashCommandInteractionEvent event, String name) {
+		return required(event, name).getAsDouble();
+	}
+
+	static Object boxedDouble(SlashCommandInteractionEvent event, String name) {
+		OptionMapping option = event.getOption(name);
+		return option == null ? null : option.getAsDouble();
+	}
+
+	static boolean booleanValue(SlashCommandInteractionEvent event, String name) {
+		return required(event, name).getAsBoolean();
+	}
+
+	static Object boxedBoolean(SlashCommandInteractionEvent event, String name) {
+		OptionMapping option = event.getOption(name);
+		return option == null ? null : option.getAsBoolean();
+	}
+
+	static Object user(SlashCommandInteractionEvent event, String name) {
+		OptionMapping option = event.getOption(name);
+		return option == null ? null : option.getAsUser();
+	}
+
+	static Object member(SlashCommandInteractionEvent event, String name) {
+		OptionMapping option = event.getOption(name);
+		return option == null ? null : option.getAsMember();
+	}
+
+	static Object role(SlashCommandInteractionEvent event, String name) {
+		OptionMapping option = event.getOption(name);
+		return option == null ? null : option.getAsRole();
+	}
+
+	static Object channel(SlashCommandInteractionEvent event, String name) {
+		OptionMapping option = event.getOption(name);
+		return option == null ? null : option.getAsChannel();
+	}
+
+	static Object mentionable(SlashCommandInteractionEvent event, String name) {
+		OptionMapping option = event.getOption(name);
+		return option == null ? null : option.getAsMentionable();
+	}
+
+	static Object attachment(SlashCommandInteractionEvent event, String name) {
+		OptionMapping option = event.getOption(name);
+		return option == null ? null : option.getAsAttachment();
+	}
+
+	static Object enumValue(SlashCommandInteractionEvent event, String name, Map<String, Object> constants) {
+		OptionMapping option = event.getOption(name);
+		if (option == null)
+			return null;
+		Object constant = constants.get(option.getAsString().toLowerCase(Locale.ROOT));
+		if (constant == null)
+			throw new IllegalArgumentException("Invalid value '" + option.getAsString() + "' of option '" + name + "'");
+		return constant;
+	}
+
+	/**
+	 * Supported parameter types with their extractor and compatible option
+	 * types.
+	 */
+	private enum Binding {
+		MAPPING("mapping", EnumSet.allOf(OptionType.class), OptionMapping.class),
+		STRING("string", EnumSet.of(OptionType.STRING), String.class),
+		ENUM("string", EnumSet.of(OptionType.STRING), Enum.class),
+		LONG("longValue", EnumSet.of(OptionType.INTEGER), long.class),
+		BOXED_LONG("boxedLong", EnumSet.of(OptionType.INTEGER), Long.class),
+		INT("intValue", EnumSet.of(OptionType.INTEGER), int.class),
+		BOXED_INT("boxedInt", EnumSet.of(OptionType.INTEGER), Integer.class),
+		DOUBLE("doubleValue", EnumSet.of(OptionType.NUMBER, OptionType.INTEGER), double.class),
+		BOXED_DOUBLE("boxedDouble", EnumSet.of(OptionType.NUMBER, OptionType.INTEGER), Double.class),
+		BOOLEAN("booleanValue", EnumSet.of(OptionType.BOOLEAN), boolean.class),
+		BOXED_BOOLEAN("boxedBoolean", EnumSet.of(OptionType.BOOLEAN), Boolean.class),
+		USER("user", EnumSet.of(OptionType.USER, OptionType.MENTIONABLE), User.class),
+		MEMBER("member", EnumSet.of(OptionType.USER, OptionType.MENTIONABLE), Member.class),
+		ROLE("role", EnumSet.of(OptionType.ROLE, OptionType.MENTIONABLE), Role.class),
+		CHANNEL("channel", EnumSet.of(OptionType.CHANNEL), GuildChannel.class),
+		MENTIONABLE("mentionable", EnumSet.of(OptionType.MENTIONABLE, OptionType.USER, OptionType.ROLE),
+				IMentionable.class),
+		ATTACHMENT("attachment", EnumSet.of(OptionType.ATTACHMENT), Message.Attachment.class);
+
+		final MethodHandle handle;
+		final Set<OptionType> types;
+		final Class<?> type;
+
+		Binding(String extractor, Set<OptionType> types, Class<?> type) {
+			this.types = types;
+			this.type = type;
+			try {
+				Class<?> returnType = type.isPrimitive() ? type : Object.class;
+				this.handle = LOOKUP.findStatic(OptionBinder.class, extractor,
+						EXTRACTOR.changeReturnType(returnType));
+			} catch (ReflectiveOperationException e) {
+				throw new ExceptionInInitializerError(e);
+			}
+		}
+
+		@Nullable
+		static Binding of(Class<?> type) {
+			for (Binding binding : values())
+				if (binding.type.isPrimitive() ? binding.type == type : binding.type.isAssignableFrom(type))
+					return binding;
+			return null;
+		}
+	}
+}
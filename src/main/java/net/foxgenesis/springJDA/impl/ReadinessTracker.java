@@ -0,0 +1,184 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.JDA.Status;
+import net.dv8tion.jda.api.events.StatusChangeEvent;
+import net.dv8tion.jda.api.events.session.ReadyEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.foxgenesis.springJDA.SpringJDA;
+
+/**
+ * Event driven readiness signalling for SpringJDA. This listener tracks the
+ * {@link StatusChangeEvent StatusChangeEvents} and {@link ReadyEvent
+ * ReadyEvents} of every shard and completes a future for each startup phase
+ * so that waiting threads can block without spinning. Shards are tracked
+ * independently so a slow shard does not delay the callback of any other.
+ * <p>
+ * The tracker must be registered as an event listener <b>before</b> any shard
+ * is built and {@link #reset() reset} before every (re)start.
+ *
+ * @author Ashley
+ */
+public final class ReadinessTracker extends ListenerAdapter {
+	private final Logger logger = LoggerFactory.getLogger(SpringJDA.class);
+
+	private final Set<Integer> created = ConcurrentHashMap.newKeySet();
+	private final Set<Integer> ready = ConcurrentHashMap.newKeySet();
+
+	private volatile CompletableFuture<Void> semiReadyFuture = new CompletableFuture<>();
+	private volatile CompletableFuture<Void> createdFuture = new CompletableFuture<>();
+	private volatile CompletableFuture<Void> readyFuture = new CompletableFuture<>();
+
+	private volatile int expected = -1;
+
+	private final Consumer<JDA> shardReady;
+
+	/**
+	 * Create a new tracker.
+	 *
+	 * @param shardReady Callback invoked once for every shard that becomes ready
+	 */
+	public ReadinessTracker(@NonNull Consumer<JDA> shardReady) {
+		this.shardReady = Objects.requireNonNull(shardReady);
+	}
+
+	/**
+	 * Clear all tracked shards and create new futures for the next start.
+	 */
+	public synchronized void reset() {
+		created.clear();
+		ready.clear();
+		expected = -1;
+		semiReadyFuture = new CompletableFuture<>();
+		createdFuture = new CompletableFuture<>();
+		readyFuture = new CompletableFuture<>();
+	}
+
+	/**
+	 * Set the amount of shards that must be created and ready before the
+	 * respective futures are completed.
+	 *
+	 * @param shards The amount of shards started by this instance
+	 */
+	public void expect(int shards) {
+		if (shards <= 0)
+			throw new IllegalArgumentException("Expected shards must be positive");
+		expected = shards;
+		check();
+	}
+
+	/**
+	 * Get a future that completes once the first shard has been created.
+	 *
+	 * @return A future for the semi-ready state
+	 */
+	@NonNull
+	public CompletableFuture<Void> getSemiReady() {
+		return semiReadyFuture;
+	}
+
+	/**
+	 * Get a future that completes once all expected shards have been created.
+	 *
+	 * @return A future for the all shards created state
+	 */
+	@NonNull
+	public CompletableFuture<Void> getAllCreated() {
+		return createdFuture;
+	}
+
+	/**
+	 * Get a future that completes once all expected shards are ready.
+	 *
+	 * @return A future for the ready state
+	 */
+	@NonNull
+	public CompletableFuture<Void> getReady() {
+		return readyFuture;
+	}
+
+	@Override
+	public void onStatusChange(StatusChangeEvent event) {
+		Status status = event.getNewStatus();
+
+		if (status == Status.FAILED_TO_LOGIN) {
+			fail(new IllegalStateException("Shard " + shardString(event.getJDA()) + " failed to login"));
+			return;
+		}
+
+		// Only count shards that are starting up. Shards of a previous start will
+		// only report shutdown or reconnect statuses
+		if (status.isInit() && created.add(shardId(event.getJDA()))) {
+			semiReadyFuture.complete(null);
+			check();
+		}
+	}
+
+	@Override
+	public void onReady(ReadyEvent event) {
+		JDA jda = event.getJDA();
+		if (ready.add(shardId(jda))) {
+			logger.info("Shard {} ready", shardString(jda));
+			shardReady.accept(jda);
+			check();
+		}
+	}
+
+	/**
+	 * Track a shard that is already connected. Such a shard does not fire a new
+	 * {@link ReadyEvent} after this tracker was {@link #reset() reset}.
+	 *
+	 * @param jda The connected shard
+	 */
+	public void markReady(@NonNull JDA jda) {
+		int shard = shardId(jda);
+		if (created.add(shard))
+			semiReadyFuture.complete(null);
+		if (ready.add(shard))
+			shardReady.accept(jda);
+		check();
+	}
+
+	/**
+	 * Get the amount of shards that are currently ready.
+	 *
+	 * @return The amount of ready shards
+	 */
+	public int getShardsReady() {
+		return ready.size();
+	}
+
+	private synchronized void check() {
+		int shards = expected;
+		if (shards < 0)
+			return;
+		if (created.size() >= shards)
+			createdFuture.complete(null);
+		if (ready.size() >= shards)
+			readyFuture.complete(null);
+	}
+
+	private synchronized void fail(Throwable err) {
+		semiReadyFuture.completeExceptionally(err);
+		createdFuture.completeExceptionally(err);
+		readyFuture.completeExceptionally(err);
+	}
+
+	private static int shardId(JDA jda) {
+		return jda.getShardInfo().getShardId();
+	}
+
+	private static String shardString(JDA jda) {
+		return jda.getShardInfo().getShardString();
+	}
+}
@@ -0,0 +1,126 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.lang.NonNull;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.requests.RestAction;
+
+/**
+ * Shares a single in-flight request between concurrent identical REST
+ * lookups. A lookup executed while an identical lookup is in flight receives
+ * the result of the in-flight request instead of issuing its own request.
+ * Completed requests are not cached.
+ *
+ * @author Ashley
+ */
+public class RequestCoalescer {
+	private final Map<Key, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder[] executed = new LongAdder[Lookup.values().length];
+
+	private final LongAdder[] coalesced = new LongAdder[Lookup.values().length];
+
+	public RequestCoalescer() {
+		for (int i = 0; i < executed.length; i++) {
+			executed[i] = new LongAdder();
+			coalesced[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Create a {@link RestAction} that shares its request with identical
+	 * lookups executed at the same time.
+	 *
+	 * @param <T>    The result type
+	 * @param jda    The shard executing the request
+	 * @param lookup The type of the lookup
+	 * @param id     The id of the looked up entity
+	 * @param action Supplier of the action executing the request
+	 *
+	 * @return A coalescing action
+	 */
+	@NonNull
+	public <T> RestAction<T> coalesce(@NonNull JDA jda, @NonNull Lookup lookup, @NonNull Object id,
+			@NonNull Supplier<? extends RestAction<T>> action) {
+		return new CoalescingRestAction<>(jda, () -> execute(new Key(lookup, id), action));
+	}
+
+	/**
+	 * Get the amount of requests sent for a lookup type.
+	 *
+	 * @param lookup The type of the lookup
+	 *
+	 * @return The amount of executed requests
+	 */
+	public long getExecuted(@NonNull Lookup lookup) {
+		return executed[lookup.ordinal()].sum();
+	}
+
+	/**
+	 * Get the amount of lookups that shared an in-flight request instead of
+	 * sending their own.
+	 *
+	 * @param lookup The type of the lookup
+	 *
+	 * @return The amount of coalesced lookups
+	 */
+	public long getCoalesced(@NonNull Lookup lookup) {
+		return coalesced[lookup.ordinal()].sum();
+	}
+
+	/**
+	 * Get the amount of requests currently in flight.
+	 *
+	 * @return The amount of in-flight requests
+	 */
+	public int getInFlight() {
+		return inFlight.size();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> CompletableFuture<T> execute(Key key, Supplier<? extends RestAction<T>> action) {
+		CompletableFuture<T> created = new CompletableFuture<>();
+		CompletableFuture<?> existing = inFlight.putIfAbsent(key, created);
+		if (existing != null) {
+			coalesced[key.lookup.ordinal()].increment();
+			return (CompletableFuture<T>) existing;
+		}
+
+		executed[key.lookup.ordinal()].increment();
+		try {
+			action.get().submit().whenComplete((result, err) -> {
+				// Lookups after completion send a new request
+				inFlight.remove(key, created);
+				if (err != null)
+					created.completeExceptionally(err);
+				else
+					created.complete(result);
+			});
+		} catch (RuntimeException e) {
+			inFlight.remove(key, created);
+			created.completeExceptionally(e);
+		}
+		return created;
+	}
+
+	/**
+	 * Types of coalesced lookups.
+	 */
+	public enum Lookup {
+		USER, COMMAND, WEBHOOK, APPLICATION_INFO
+	}
+
+	private record Key(Lookup lookup, Object id) {
+		Key {
+			Objects.requireNonNull(lookup);
+			Objects.requireNonNull(id);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.events.StatusChangeEvent;
+import net.dv8tion.jda.api.events.session.ReadyEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+
+/**
+ * Records a {@link StartupStep} for the startup of every shard. Shards start
+ * concurrently while an {@link ApplicationStartup} such as
+ * {@code BufferingApplicationStartup} only tracks a single current step, so
+ * the phases of a shard are timed by this listener and a single
+ * {@code SpringJDA.shard.ready} step is recorded once the shard is ready or
+ * failed. The step is tagged with the shard, its final status and the
+ * duration of each phase:
+ * <ul>
+ * <li>{@code login} - token verification and waiting in the identify
+ * queue</li>
+ * <li>{@code identify} - connecting to the gateway and identifying the
+ * session</li>
+ * <li>{@code guildLoad} - loading the initial guilds</li>
+ * <li>{@code total} - from login until the shard is ready</li>
+ * </ul>
+ * Status changes after a shard is ready, such as reconnects, are not
+ * recorded.
+ *
+ * @author Ashley
+ */
+public final class ShardStartupRecorder extends ListenerAdapter {
+
+	private final Map<Integer, ShardSteps> shards = new ConcurrentHashMap<>();
+
+	private volatile ApplicationStartup startup = ApplicationStartup.DEFAULT;
+
+	/**
+	 * Set the {@link ApplicationStartup} to record steps on.
+	 *
+	 * @param startup The {@link ApplicationStartup} of the application context
+	 */
+	public void setApplicationStartup(@NonNull ApplicationStartup startup) {
+		this.startup = Objects.requireNonNull(startup);
+	}
+
+	/**
+	 * Record all shards still starting and clear all tracked shards.
+	 */
+	public void reset() {
+		shards.values().forEach(steps -> steps.end(startup, "reset"));
+		shards.clear();
+	}
+
+	@Override
+	public void onStatusChange(StatusChangeEvent event) {
+		int shardId = event.getJDA().getShardInfo().getShardId();
+
+		switch (event.getNewStatus()) {
+			case LOGGING_IN -> shards.computeIfAbsent(shardId, id -> new ShardSteps(event.getJDA())).phase("login");
+			case CONNECTING_TO_WEBSOCKET -> phase(shardId, "identify");
+			case LOADING_SUBSYSTEMS -> phase(shardId, "guildLoad");
+			case FAILED_TO_LOGIN, SHUTTING_DOWN, SHUTDOWN -> {
+				ShardSteps steps = shards.remove(shardId);
+				if (steps != null)
+					steps.end(startup, event.getNewStatus().name());
+			}
+			default -> {}
+		}
+	}
+
+	@Override
+	public void onReady(ReadyEvent event) {
+		ShardSteps steps = shards.remove(event.getJDA().getShardInfo().getShardId());
+		if (steps != null)
+			steps.end(startup, "READY");
+	}
+
+	private void phase(int shardId, String name) {
+		ShardSteps steps = shards.get(shardId);
+		if (steps != null)
+			steps.phase(name);
+	}
+
+	/**
+	 * Phase durations of a single shard.
+	 */
+	private static final class ShardSteps {
+		private final String shard;
+		private final long start = System.nanoTime();
+		private final Map<String, Duration> phases = new LinkedHashMap<>();
+
+		@Nullable
+		private String current;
+		private long currentStart;
+
+		ShardSteps(JDA jda) {
+			this.shard = jda.getShardInfo().getShardString();
+		}
+
+		synchronized void phase(String name) {
+			long now = System.nanoTime();
+			endPhase(now);
+			current = name;
+			currentStart = now;
+		}
+
+		synchronized void end(ApplicationStartup startup, String status) {
+			long now = System.nanoTime();
+			endPhase(now);
+
+			// Started and ended at once so steps of concurrent shards do not nest
+			StartupStep step = startup.start("SpringJDA.shard.ready").tag("shard", shard).tag("status", status);
+			phases.forEach((name, duration) -> step.tag(name, duration.toString()));
+			step.tag("total", Duration.ofNanos(now - start).toString()).end();
+		}
+
+		private void endPhase(long now) {
+			if (current != null)
+				phases.put(current, Duration.ofNanos(now - currentStart));
+			current = null;
+		}
+	}
+}
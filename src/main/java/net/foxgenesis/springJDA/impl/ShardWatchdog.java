@@ -0,0 +1,210 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.lang.NonNull;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.JDA.Status;
+import net.dv8tion.jda.api.events.StatusChangeEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import net.foxgenesis.springJDA.SpringJDA;
+import net.foxgenesis.springJDA.autoconfigure.ShardWatchdogConfiguration;
+import net.foxgenesis.springJDA.event.ShardWatchdogEvent;
+import net.foxgenesis.springJDA.event.ShardWatchdogEvent.Action;
+
+/**
+ * Background watchdog that detects and restarts stuck shards. The watchdog
+ * tracks the time of the last status transition of every shard and the
+ * heartbeat ack latency of connected shards. A shard is restarted through its
+ * {@link ShardManager} when:
+ * <ul>
+ * <li>it stays in a reconnecting status for longer than the stuck timeout</li>
+ * <li>it is connected but its gateway ping stays unknown or above the maximum
+ * ping for longer than the stuck timeout</li>
+ * </ul>
+ * At most one shard is restarted per restart cooldown. A
+ * {@link ShardWatchdogEvent} is published for every action.
+ *
+ * @author Ashley
+ */
+public class ShardWatchdog implements SmartLifecycle {
+	private static final Set<Status> RECONNECTING = EnumSet.of(Status.DISCONNECTED, Status.WAITING_TO_RECONNECT,
+			Status.ATTEMPTING_TO_RECONNECT, Status.RECONNECT_QUEUED);
+
+	private final Logger logger = LoggerFactory.getLogger(SpringJDA.class);
+
+	private final ShardWatchdogConfiguration config;
+
+	private final ObjectProvider<SpringJDA> jda;
+
+	private final ApplicationEventPublisher publisher;
+
+	private final Map<Integer, ShardState> shards = new ConcurrentHashMap<>();
+
+	private final ListenerAdapter listener = new ListenerAdapter() {
+		@Override
+		public void onStatusChange(StatusChangeEvent event) {
+			JDA shard = event.getJDA();
+			shards.compute(shard.getShardInfo().getShardId(),
+					(id, state) -> state == null || state.jda != shard ? new ShardState(shard, event.getNewStatus())
+							: state.transition(event.getNewStatus()));
+		}
+	};
+
+	private ScheduledExecutorService executor;
+
+	private long lastRestart;
+
+	public ShardWatchdog(@NonNull ShardWatchdogConfiguration config, @NonNull ObjectProvider<SpringJDA> jda,
+			@NonNull ApplicationEventPublisher publisher) {
+		this.config = Objects.requireNonNull(config);
+		this.jda = Objects.requireNonNull(jda);
+		this.publisher = Objects.requireNonNull(publisher);
+		this.lastRestart = System.nanoTime() - config.restartCooldown().toNanos();
+	}
+
+	/**
+	 * Get the event listener that must be registered on every shard.
+	 *
+	 * @return The status listener of this watchdog
+	 */
+	@NonNull
+	public Object getListener() {
+		return listener;
+	}
+
+	@Override
+	public synchronized void start() {
+		long interval = config.checkInterval().toMillis();
+		executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "SpringJDA-Watchdog");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(this::check, interval, interval, TimeUnit.MILLISECONDS);
+		logger.info("Shard watchdog started");
+	}
+
+	@Override
+	public synchronized void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	@Override
+	public synchronized boolean isRunning() {
+		return executor != null;
+	}
+
+	@Override
+	public int getPhase() {
+		// Stop before SpringJDA shuts down the shards
+		return 1;
+	}
+
+	private void check() {
+		long now = System.nanoTime();
+		long stuckTimeout = config.stuckTimeout().toNanos();
+		long maxPing = config.maxPing().toMillis();
+
+		for (ShardState state : shards.values()) {
+			// An exception would cancel all further checks
+			try {
+				check(state, now, stuckTimeout, maxPing);
+			} catch (Exception e) {
+				logger.error("Failed to check shard {}", state.jda.getShardInfo().getShardString(), e);
+			}
+		}
+	}
+
+	private void check(ShardState state, long now, long stuckTimeout, long maxPing) {
+		Status status = state.status;
+
+		if (RECONNECTING.contains(status)) {
+			if (now - state.since > stuckTimeout)
+				restart(state, "Stuck in " + status + " for " + Duration.ofNanos(now - state.since));
+		} else if (status == Status.CONNECTED) {
+			long ping = state.jda.getGatewayPing();
+			if (ping >= 0 && ping <= maxPing) {
+				state.unhealthySince = -1;
+				state.rateLimited = false;
+			} else if (state.unhealthySince < 0)
+				state.unhealthySince = now;
+			else if (now - state.unhealthySince > stuckTimeout)
+				restart(state, "Gateway ping " + ping + "ms for " + Duration.ofNanos(now - state.unhealthySince));
+		}
+	}
+
+	private void restart(ShardState state, String reason) {
+		int shardId = state.jda.getShardInfo().getShardId();
+		long now = System.nanoTime();
+
+		if (now - lastRestart < config.restartCooldown().toNanos()) {
+			logger.debug("Not restarting shard {} within restart cooldown: {}", shardId, reason);
+			// Only once until the shard recovers or changes its status
+			if (!state.rateLimited) {
+				state.rateLimited = true;
+				publish(shardId, state.status, reason, Action.RATE_LIMITED);
+			}
+			return;
+		}
+
+		ShardManager manager = state.jda.getShardManager();
+		if (manager == null)
+			return;
+
+		logger.warn("Restarting shard {}: {}", shardId, reason);
+		lastRestart = now;
+		shards.remove(shardId, state);
+		manager.restart(shardId);
+		publish(shardId, state.status, reason, Action.RESTARTED);
+	}
+
+	private void publish(int shardId, Status status, String reason, Action action) {
+		SpringJDA source = jda.getIfAvailable();
+		if (source != null)
+			publisher.publishEvent(new ShardWatchdogEvent(source, shardId, status, reason, action));
+	}
+
+	/**
+	 * Last known state of a single shard instance.
+	 */
+	private static final class ShardState {
+		final JDA jda;
+		volatile Status status;
+		volatile long since;
+		volatile long unhealthySince = -1;
+		volatile boolean rateLimited;
+
+		ShardState(JDA jda, Status status) {
+			this.jda = jda;
+			this.status = status;
+			this.since = System.nanoTime();
+		}
+
+		ShardState transition(Status status) {
+			this.status = status;
+			this.since = System.nanoTime();
+			this.unhealthySince = -1;
+			this.rateLimited = false;
+			return this;
+		}
+	}
+}
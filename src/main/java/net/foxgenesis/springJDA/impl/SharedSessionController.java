@@ -0,0 +1,147 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.lang.NonNull;
+
+import net.foxgenesis.springJDA.SpringJDA;
+
+/**
+ * {@link InstrumentedSessionController} that coordinates the identify queue
+ * with other processes on the same host. Every identify bucket is backed by a
+ * lock file in a shared directory holding the time of the last identify of
+ * that bucket. Before a shard identifies, the bucket file is locked and the
+ * controller waits until {@value #IDENTIFY_DELAY} seconds have passed since the
+ * last identify of any process. The lock is released once the shard has sent
+ * its identify.
+ * <p>
+ * All processes sharing the directory must run the same bot, as the lock files
+ * are keyed by {@code shardId % max_concurrency}.
+ *
+ * @author Ashley
+ */
+public class SharedSessionController extends InstrumentedSessionController {
+	/**
+	 * Locks guarding the bucket files within this JVM, as file locks are held on
+	 * behalf of the whole process.
+	 */
+	private static final Map<Path, ReentrantLock> LOCAL_LOCKS = new ConcurrentHashMap<>();
+
+	private final Logger logger = LoggerFactory.getLogger(SpringJDA.class);
+
+	private final Path directory;
+
+	private final Map<SessionConnectNode, BucketLock> held = new ConcurrentHashMap<>();
+
+	public SharedSessionController(@NonNull ApplicationStartup startup, @NonNull Path directory) {
+		super(startup);
+		this.directory = Objects.requireNonNull(directory);
+
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to create identify lock directory " + directory, e);
+		}
+	}
+
+	@Override
+	protected void beforeIdentify(SessionConnectNode node) throws InterruptedException {
+		int bucket = node.getShardInfo().getShardId() % getConcurrency();
+		BucketLock lock = new BucketLock(directory.resolve("identify-" + bucket + ".lock"));
+
+		try {
+			long wait = lock.acquire() + TimeUnit.SECONDS.toMillis(IDENTIFY_DELAY) - System.currentTimeMillis();
+			if (wait > 0) {
+				logger.debug("Shard {} waiting {}ms for identify bucket {}", node.getShardInfo().getShardString(), wait,
+						bucket);
+				Thread.sleep(wait);
+			}
+			held.put(node, lock);
+		} catch (IOException e) {
+			lock.release(false);
+			throw new UncheckedIOException("Failed to lock identify bucket " + bucket, e);
+		} catch (InterruptedException | RuntimeException e) {
+			lock.release(false);
+			throw e;
+		}
+	}
+
+	@Override
+	protected void afterIdentify(SessionConnectNode node) {
+		BucketLock lock = held.remove(node);
+		if (lock != null)
+			lock.release(true);
+	}
+
+	/**
+	 * Process wide lock of a single identify bucket.
+	 */
+	private final class BucketLock {
+		private final Path file;
+		private final ReentrantLock local;
+		private FileChannel channel;
+		private FileLock lock;
+
+		BucketLock(Path file) {
+			this.file = file;
+			this.local = LOCAL_LOCKS.computeIfAbsent(file, f -> new ReentrantLock());
+		}
+
+		/**
+		 * Lock the bucket file.
+		 *
+		 * @return The time of the last identify in milliseconds since the epoch or
+		 *         {@code 0} if this bucket has never identified
+		 */
+		long acquire() throws IOException, InterruptedException {
+			local.lockInterruptibly();
+			channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			lock = channel.lock();
+
+			ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+			return channel.read(buffer, 0) == Long.BYTES ? buffer.flip().getLong() : 0;
+		}
+
+		/**
+		 * Unlock the bucket file.
+		 *
+		 * @param identified Whether to record the current time as the last
+		 *                   identify
+		 */
+		void release(boolean identified) {
+			try {
+				if (identified && channel != null)
+					channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, System.currentTimeMillis()), 0);
+			} catch (IOException e) {
+				logger.warn("Failed to record identify in {}", file, e);
+			} finally {
+				try {
+					if (lock != null)
+						lock.release();
+					if (channel != null)
+						channel.close();
+				} catch (IOException e) {
+					logger.warn("Failed to release identify lock {}", file, e);
+				}
+				if (local.isHeldByCurrentThread())
+					local.unlock();
+			}
+		}
+	}
+}
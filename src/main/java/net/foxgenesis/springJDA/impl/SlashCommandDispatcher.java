@@ -0,0 +1,403 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.utils.TimeUtil;
+import net.foxgenesis.springJDA.CommandRegistry;
+import net.foxgenesis.springJDA.SlashCommandHandler;
+import net.foxgenesis.springJDA.annotation.GuildCommand;
+import net.foxgenesis.springJDA.annotation.Option;
+import net.foxgenesis.springJDA.annotation.SlashHandler;
+import net.foxgenesis.springJDA.event.CommandRegistryReadyEvent;
+
+/**
+ * Routes slash command interactions to {@link SlashHandler @SlashHandler}
+ * methods and programmatically registered {@link SlashCommandHandler
+ * SlashCommandHandlers}.
+ * <p>
+ * Handler methods are compiled into {@link SlashCommandHandler} instances
+ * through {@link LambdaMetafactory}, falling back to a bound
+ * {@link MethodHandle} if the method is not accessible to a generated class.
+ * Methods accepting other parameters than the event have their parameters
+ * bound to command options, either by {@link Option @Option} or by parameter
+ * name, and are checked against the declared options of the command on
+ * startup.
+ * Once the {@link CommandRegistry} is ready, global commands are routed by the
+ * id of the registered command, so only commands that are both registered and
+ * handled are dispatched. Guild commands are routed by name. Routing does not
+ * allocate.
+ * <p>
+ * Every handled command path records {@link CommandStats} with its invocation
+ * count, latency histogram, in-flight count, error count and response time
+ * from the creation of the interaction until the handler returned.
+ *
+ * @author Ashley
+ */
+public class SlashCommandDispatcher implements SmartInitializingSingleton, ApplicationListener<CommandRegistryReadyEvent> {
+	private static final MethodType HANDLE_TYPE = MethodType.methodType(void.class, SlashCommandInteractionEvent.class);
+
+	private final Logger logger = LoggerFactory.getLogger(CommandRegistry.class);
+
+	private final ConfigurableListableBeanFactory ctx;
+
+	private final CommandRegistry registry;
+
+	private final Map<String, SlashCommandHandler> handlers = new ConcurrentHashMap<>();
+
+	private final Map<String, CommandStats> stats = new ConcurrentHashMap<>();
+
+	private final List<Consumer<CommandStats>> statsListeners = new CopyOnWriteArrayList<>();
+
+	private final ListenerAdapter listener = new ListenerAdapter() {
+		@Override
+		public void onSlashCommandInteraction(SlashCommandInteractionEvent event) {
+			dispatch(event);
+		}
+	};
+
+	private volatile Table table = new Table(Map.of(), null);
+
+	private volatile boolean registryReady;
+
+	private boolean strict = true;
+
+	public SlashCommandDispatcher(@NonNull ConfigurableListableBeanFactory ctx, @NonNull CommandRegistry registry) {
+		this.ctx = Objects.requireNonNull(ctx);
+		this.registry = Objects.requireNonNull(registry);
+	}
+
+	/**
+	 * Set whether handlers with options must handle a declared command. A
+	 * strict dispatcher fails startup when the command of such a handler is
+	 * unknown, otherwise the options of the handler are not checked.
+	 *
+	 * @param strict {@code true} to fail on unknown commands
+	 */
+	public void setStrict(boolean strict) {
+		this.strict = strict;
+	}
+
+	/**
+	 * Get the event listener that must be registered on every shard.
+	 *
+	 * @return The slash command listener of this dispatcher
+	 */
+	@NonNull
+	public Object getListener() {
+		return listener;
+	}
+
+	/**
+	 * Register a handler for a command path.
+	 *
+	 * @param path    The command path such as {@code "mod/ban"}
+	 * @param handler The handler of the command
+	 *
+	 * @throws IllegalArgumentException If the path already has a handler
+	 */
+	public void register(@NonNull String path, @NonNull SlashCommandHandler handler) {
+		String key = normalize(path);
+		if (handlers.putIfAbsent(key, Objects.requireNonNull(handler)) != null)
+			throw new IllegalArgumentException("Slash command '" + key + "' already has a handler");
+		rebuild();
+	}
+
+	/**
+	 * Get the execution statistics of all handled commands.
+	 *
+	 * @return An unmodifiable view of the statistics of every command path
+	 */
+	@NonNull
+	public Collection<CommandStats> getStats() {
+		return Collections.unmodifiableCollection(stats.values());
+	}
+
+	/**
+	 * Get the execution statistics of a command.
+	 *
+	 * @param path The command path such as {@code "mod/ban"}
+	 *
+	 * @return The statistics or {@code null} if the command has no handler
+	 */
+	@Nullable
+	public CommandStats getStats(@NonNull String path) {
+		return stats.get(normalize(path));
+	}
+
+	/**
+	 * Add a listener called with the statistics of every handled command,
+	 * including commands that are handled at a later time.
+	 *
+	 * @param listener The listener to add
+	 */
+	public synchronized void addStatsListener(@NonNull Consumer<CommandStats> listener) {
+		statsListeners.add(Objects.requireNonNull(listener));
+		stats.values().forEach(listener);
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		for (String name : ctx.getBeanNamesForType(Object.class)) {
+			Class<?> type = ctx.getType(name);
+			if (type == null || !ctx.isSingleton(name))
+				continue;
+
+			// Find @SlashHandler methods
+			Map<Method, SlashHandler> methods = MethodIntrospector.selectMethods(ClassUtils.getUserClass(type),
+					(MethodIntrospector.MetadataLookup<SlashHandler>) method -> AnnotatedElementUtils
+							.findMergedAnnotation(method, SlashHandler.class));
+			if (methods.isEmpty())
+				continue;
+
+			Object bean = ctx.getBean(name);
+			methods.forEach((method, annotation) -> {
+				String key = normalize(annotation.value());
+				if (handlers.putIfAbsent(key, compile(key, bean, method)) != null)
+					throw new BeanInitializationException(
+							"Slash command '" + key + "' of " + method + " already has a handler");
+			});
+		}
+
+		rebuild();
+		logger.info("Found {} slash command handlers", handlers.size());
+	}
+
+	@Override
+	public void onApplicationEvent(CommandRegistryReadyEvent event) {
+		registryReady = true;
+		rebuild();
+	}
+
+	private void dispatch(SlashCommandInteractionEvent event) {
+		Table table = this.table;
+
+		// Global commands are routed by their registered id
+		Route route = event.isGuildCommand() || table.byId == null ? table.byName.get(event.getName())
+				: table.byId.get(event.getCommandIdLong());
+		if (route == null)
+			return;
+
+		Target target = route.find(event.getSubcommandGroup(), event.getSubcommandName());
+		if (target == null)
+			return;
+
+		CommandStats stats = target.stats();
+		stats.begin();
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			target.handler().handle(event);
+			failed = false;
+		} catch (Exception e) {
+			logger.error("Slash command handler of '{}' failed", event.getFullCommandName(), e);
+		} finally {
+			stats.end(System.nanoTime() - start, failed);
+
+			// Time from the creation of the interaction until the handler returned. JDA
+			// does not expose when the interaction was acknowledged. The creation time
+			// is taken from Discord's clock, so this includes the clock skew of the host
+			long created = (event.getIdLong() >>> TimeUtil.TIMESTAMP_OFFSET) + TimeUtil.DISCORD_EPOCH;
+			stats.responded(event.isAcknowledged()
+					? Math.max(0, System.currentTimeMillis() - created) * 1_000_000L : -1);
+		}
+	}
+
+	/**
+	 * Compile the dispatch table from the current handlers and registered
+	 * commands.
+	 */
+	private synchronized void rebuild() {
+		Map<String, Route> byName = new HashMap<>();
+		handlers.forEach((path, handler) -> {
+			Target target = new Target(handler, stats.computeIfAbsent(path, this::createStats));
+			String[] parts = path.split(" ");
+			Route route = byName.computeIfAbsent(parts[0], n -> new Route());
+			switch (parts.length) {
+				case 1 -> route.handler = target;
+				case 2 -> route.subcommands.put(parts[1], target);
+				default -> route.groups.computeIfAbsent(parts[1], g -> new HashMap<>()).put(parts[2], target);
+			}
+		});
+
+		LongTable<Route> byId = null;
+		if (registryReady) {
+			byId = new LongTable<>(byName.size());
+			int unregistered = 0;
+			for (Map.Entry<String, Route> entry : byName.entrySet()) {
+				OptionalLong id = registry.getCommandId(Command.Type.SLASH, entry.getKey());
+				if (id.isPresent())
+					byId.put(id.getAsLong(), entry.getValue());
+				else
+					unregistered++;
+			}
+			if (unregistered > 0)
+				logger.debug("{} slash command handlers have no registered global command", unregistered);
+		}
+
+		this.table = new Table(byName, byId);
+	}
+
+	private CommandStats createStats(String path) {
+		CommandStats created = new CommandStats(path);
+		statsListeners.forEach(listener -> listener.accept(created));
+		return created;
+	}
+
+	static String normalize(String path) {
+		String normalized = path.trim().replace('/', ' ').replaceAll(" +", " ").toLowerCase(Locale.ROOT);
+		int parts = normalized.split(" ").length;
+		if (normalized.isEmpty() || parts > 3)
+			throw new IllegalArgumentException("Invalid slash command path '" + path + "'");
+		return normalized;
+	}
+
+	/**
+	 * Compile a handler method into a {@link SlashCommandHandler}.
+	 */
+	private SlashCommandHandler compile(String path, Object bean, Method method) {
+		Method invocable = AopUtils.selectInvocableMethod(method, bean.getClass());
+		Class<?>[] parameters = invocable.getParameterTypes();
+		boolean eventOnly = parameters.length == 1 && parameters[0].isAssignableFrom(SlashCommandInteractionEvent.class);
+
+		boolean isStatic = Modifier.isStatic(invocable.getModifiers());
+		MethodHandle target;
+		Lookup lookup;
+		try {
+			lookup = MethodHandles.privateLookupIn(invocable.getDeclaringClass(), MethodHandles.lookup());
+			target = lookup.unreflect(invocable);
+		} catch (IllegalAccessException e) {
+			throw new BeanInitializationException("@SlashHandler method " + method + " is not accessible", e);
+		}
+
+		if (eventOnly)
+			try {
+				// Generate a class implementing SlashCommandHandler calling the method
+				MethodType factoryType = isStatic ? MethodType.methodType(SlashCommandHandler.class)
+						: MethodType.methodType(SlashCommandHandler.class, invocable.getDeclaringClass());
+				CallSite site = LambdaMetafactory.metafactory(lookup, "handle", factoryType, HANDLE_TYPE, target,
+						HANDLE_TYPE);
+				return (SlashCommandHandler) (isStatic ? site.getTarget().invoke() : site.getTarget().invoke(bean));
+			} catch (LambdaConversionException | IllegalAccessError e) {
+				// Fall back to a bound method handle
+				logger.debug("Failed to generate a handler class for @SlashHandler method {}, using a method handle",
+						method, e);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new BeanInitializationException("Failed to create handler of @SlashHandler method " + method, e);
+			}
+
+		MethodHandle bound = isStatic ? target : target.bindTo(bean);
+		if (eventOnly)
+			bound = bound.asType(HANDLE_TYPE);
+		else {
+			SlashCommandData data = findCommandData(path);
+			if (data == null) {
+				if (strict)
+					throw new BeanInitializationException("@SlashHandler method " + method + " handles '" + path
+							+ "' which is not a declared command");
+				logger.warn("Options of @SlashHandler method {} can not be checked, '{}' is not a known command", method,
+						path);
+			}
+			bound = new OptionBinder(path, data).bind(method, bound);
+		}
+
+		MethodHandle handle = bound;
+		return event -> {
+			try {
+				handle.invokeExact(event);
+			} catch (Exception | Error err) {
+				throw err;
+			} catch (Throwable err) {
+				throw new UndeclaredThrowableException(err);
+			}
+		};
+	}
+
+	/**
+	 * Find the declared slash command of a path among global commands and
+	 * {@link GuildCommand @GuildCommand} beans.
+	 */
+	@Nullable
+	private SlashCommandData findCommandData(String path) {
+		String name = path.split(" ")[0];
+
+		Stream<CommandData> commands = registry instanceof CommandRegistryImpl impl ? impl.getCommands()
+				: Stream.empty();
+		for (String bean : ctx.getBeanNamesForAnnotation(GuildCommand.class))
+			if (ctx.isTypeMatch(bean, CommandData.class))
+				commands = Stream.concat(commands, Stream.of(ctx.getBean(bean, CommandData.class)));
+
+		return commands.filter(SlashCommandData.class::isInstance).map(SlashCommandData.class::cast)
+				.filter(data -> data.getName().equalsIgnoreCase(name)).findFirst().orElse(null);
+	}
+
+	/**
+	 * Immutable dispatch table.
+	 */
+	private record Table(Map<String, Route> byName, @Nullable LongTable<Route> byId) {}
+
+	/**
+	 * Handler of a command path with its statistics.
+	 */
+	private record Target(SlashCommandHandler handler, CommandStats stats) {}
+
+	/**
+	 * Handlers of a single top level command.
+	 */
+	private static final class Route {
+		@Nullable
+		Target handler;
+		final Map<String, Target> subcommands = new HashMap<>();
+		final Map<String, Map<String, Target>> groups = new HashMap<>();
+
+		@Nullable
+		Target find(@Nullable String group, @Nullable String subcommand) {
+			if (subcommand == null)
+				return handler;
+			if (group == null)
+				return subcommands.get(subcommand);
+			Map<String, Target> handlers = groups.get(group);
+			return handlers == null ? null : handlers.get(subcommand);
+		}
+	}
+}
@@ -0,0 +1,330 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.ISnowflake;
+import net.dv8tion.jda.api.events.channel.ChannelCreateEvent;
+import net.dv8tion.jda.api.events.channel.ChannelDeleteEvent;
+import net.dv8tion.jda.api.events.channel.update.ChannelUpdateTypeEvent;
+import net.dv8tion.jda.api.events.emoji.EmojiAddedEvent;
+import net.dv8tion.jda.api.events.emoji.EmojiRemovedEvent;
+import net.dv8tion.jda.api.events.guild.GuildAvailableEvent;
+import net.dv8tion.jda.api.events.guild.GuildJoinEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.api.events.guild.GuildReadyEvent;
+import net.dv8tion.jda.api.events.guild.GuildUnavailableEvent;
+import net.dv8tion.jda.api.events.role.RoleCreateEvent;
+import net.dv8tion.jda.api.events.role.RoleDeleteEvent;
+import net.dv8tion.jda.api.events.session.ReadyEvent;
+import net.dv8tion.jda.api.events.session.SessionInvalidateEvent;
+import net.dv8tion.jda.api.events.session.SessionRecreateEvent;
+import net.dv8tion.jda.api.events.session.ShutdownEvent;
+import net.dv8tion.jda.api.events.thread.ThreadHiddenEvent;
+import net.dv8tion.jda.api.events.thread.ThreadRevealedEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+
+/**
+ * Index of the guilds, roles, emojis, guild channels and threads of all shards
+ * by their snowflake id.
+ * <p>
+ * The index is maintained from create and delete gateway events and maps each
+ * id to its owning shard. A lookup is a single probe of an open addressing
+ * table keyed by primitive {@code long} values followed by a lookup in the
+ * cache of the owning shard, instead of one hash lookup per shard. Lookups of
+ * indexed entities do not lock, box or allocate.
+ * <p>
+ * Entities cached by a shard before its {@link ReadyEvent} are indexed from
+ * the guild ready events. Callers must treat a miss as unknown and fall back
+ * to the shard caches until {@link #getIndexedShards() every shard} is
+ * indexed.
+ *
+ * @author Ashley
+ */
+public final class SnowflakeIndex {
+	private final ListenerAdapter listener = new ListenerAdapter() {
+		@Override
+		public void onGuildReady(GuildReadyEvent event) {
+			putGuild(event.getGuild());
+		}
+
+		@Override
+		public void onGuildJoin(GuildJoinEvent event) {
+			putGuild(event.getGuild());
+		}
+
+		@Override
+		public void onGuildAvailable(GuildAvailableEvent event) {
+			// Fired instead of GuildReadyEvent when a guild recovers from an outage
+			putGuild(event.getGuild());
+		}
+
+		@Override
+		public void onGuildLeave(GuildLeaveEvent event) {
+			removeGuild(event.getGuild().getIdLong());
+		}
+
+		@Override
+		public void onGuildUnavailable(GuildUnavailableEvent event) {
+			removeGuild(event.getGuild().getIdLong());
+		}
+
+		@Override
+		public void onRoleCreate(RoleCreateEvent event) {
+			put(event.getRole(), event.getGuild(), Kind.ROLE);
+		}
+
+		@Override
+		public void onRoleDelete(RoleDeleteEvent event) {
+			remove(event.getRole().getIdLong());
+		}
+
+		@Override
+		public void onEmojiAdded(EmojiAddedEvent event) {
+			put(event.getEmoji(), event.getGuild(), Kind.EMOJI);
+		}
+
+		@Override
+		public void onEmojiRemoved(EmojiRemovedEvent event) {
+			remove(event.getEmoji().getIdLong());
+		}
+
+		@Override
+		public void onChannelCreate(ChannelCreateEvent event) {
+			if (event.isFromGuild())
+				put(event.getChannel(), event.getGuild(), Kind.CHANNEL);
+		}
+
+		@Override
+		public void onChannelUpdateType(ChannelUpdateTypeEvent event) {
+			// The channel is replaced by an entity of the new type
+			if (event.isFromGuild())
+				put(event.getChannel(), event.getGuild(), Kind.CHANNEL);
+		}
+
+		@Override
+		public void onChannelDelete(ChannelDeleteEvent event) {
+			remove(event.getChannel().getIdLong());
+		}
+
+		@Override
+		public void onThreadRevealed(ThreadRevealedEvent event) {
+			put(event.getThread(), event.getGuild(), Kind.CHANNEL);
+		}
+
+		@Override
+		public void onThreadHidden(ThreadHiddenEvent event) {
+			remove(event.getThread().getIdLong());
+		}
+
+		@Override
+		public void onReady(ReadyEvent event) {
+			// Fired once all guilds of the shard have been indexed
+			markIndexed(event.getJDA());
+		}
+
+		@Override
+		public void onSessionRecreate(SessionRecreateEvent event) {
+			markIndexed(event.getJDA());
+		}
+
+		@Override
+		public void onSessionInvalidate(SessionInvalidateEvent event) {
+			// JDA rebuilds the cache of the shard and fires GuildReadyEvent again
+			removeShard(event.getJDA());
+		}
+
+		@Override
+		public void onShutdown(ShutdownEvent event) {
+			removeShard(event.getJDA());
+		}
+	};
+
+	private final ConcurrentLongTable<Entry> table = new ConcurrentLongTable<>(1024);
+
+	/**
+	 * Indexed ids of every guild so a guild can be removed without visiting the
+	 * whole table.
+	 */
+	private final Map<Long, GuildIds> guilds = new ConcurrentHashMap<>();
+
+	/**
+	 * Shards whose guilds have all been indexed by shard id.
+	 */
+	private final Map<Integer, JDA> indexed = new ConcurrentHashMap<>();
+
+	/**
+	 * Get the event listener that must be registered on every shard.
+	 *
+	 * @return The listener maintaining this index
+	 */
+	@NonNull
+	public Object getListener() {
+		return listener;
+	}
+
+	/**
+	 * Get an indexed entity by its id. The entity is taken from the cache of its
+	 * owning shard, entities removed from that cache without an event are
+	 * dropped from the index.
+	 *
+	 * @param <T>  The entity type
+	 * @param type The class of the entity
+	 * @param id   The id of the entity
+	 *
+	 * @return The entity or {@code null} if no entity of this type has this id
+	 */
+	@Nullable
+	public <T> T get(@NonNull Class<T> type, long id) {
+		Entry entry = table.get(id);
+		if (entry == null)
+			return null;
+
+		Object entity = entry.kind.resolve(entry, id);
+		if (entity == null) {
+			evict(id, entry);
+			return null;
+		}
+		return type.isInstance(entity) ? type.cast(entity) : null;
+	}
+
+	/**
+	 * Get the shard owning an indexed entity.
+	 *
+	 * @param id The id of the entity
+	 *
+	 * @return The shard id or {@code -1} if the id is not indexed
+	 */
+	public int getShardId(long id) {
+		Entry entry = table.get(id);
+		return entry == null ? -1 : entry.shard.getShardInfo().getShardId();
+	}
+
+	/**
+	 * Get the amount of shards whose guilds have all been indexed. Once every
+	 * running shard is indexed, an id that is not indexed is not cached by any
+	 * shard.
+	 *
+	 * @return The amount of indexed shards
+	 */
+	public int getIndexedShards() {
+		return indexed.size();
+	}
+
+	/**
+	 * Get the amount of indexed entities.
+	 *
+	 * @return The size of this index
+	 */
+	public int size() {
+		return table.size();
+	}
+
+	private void putGuild(Guild guild) {
+		put(guild, guild, Kind.GUILD);
+		guild.getRoleCache().forEach(role -> put(role, guild, Kind.ROLE));
+		guild.getEmojiCache().forEach(emoji -> put(emoji, guild, Kind.EMOJI));
+		guild.getChannelCache().forEach(channel -> put(channel, guild, Kind.CHANNEL));
+		guild.getThreadChannelCache().forEach(channel -> put(channel, guild, Kind.CHANNEL));
+	}
+
+	private void put(ISnowflake entity, Guild guild, Kind kind) {
+		long id = entity.getIdLong();
+		JDA shard = guild.getJDA();
+		table.put(id, new Entry(shard, guild.getIdLong(), kind));
+		guilds.computeIfAbsent(guild.getIdLong(), g -> new GuildIds(shard)).ids.add(id);
+	}
+
+	private void remove(long id) {
+		Entry entry = table.get(id);
+		if (entry != null)
+			evict(id, entry);
+	}
+
+	/**
+	 * Remove an entry unless it was replaced.
+	 */
+	private void evict(long id, Entry entry) {
+		table.compute(id, current -> current == entry ? null : current);
+		GuildIds ids = guilds.get(entry.guild);
+		if (ids != null)
+			ids.ids.remove(id);
+	}
+
+	private void removeGuild(long guildId) {
+		GuildIds ids = guilds.remove(guildId);
+		if (ids != null)
+			ids.ids.forEach(table::remove);
+	}
+
+	private void markIndexed(JDA shard) {
+		indexed.put(shard.getShardInfo().getShardId(), shard);
+	}
+
+	private void removeShard(JDA shard) {
+		// The replacement of a restarted shard may already be indexed
+		indexed.remove(shard.getShardInfo().getShardId(), shard);
+		guilds.values().removeIf(ids -> {
+			if (ids.shard != shard)
+				return false;
+			ids.ids.forEach(table::remove);
+			return true;
+		});
+	}
+
+	/**
+	 * Kinds of indexed entities and how they are found in the cache of their
+	 * shard.
+	 */
+	private enum Kind {
+		GUILD {
+			@Override
+			Object resolve(Entry entry, long id) {
+				return entry.shard.getGuildById(id);
+			}
+		},
+		ROLE {
+			@Override
+			Object resolve(Entry entry, long id) {
+				Guild guild = entry.shard.getGuildById(entry.guild);
+				return guild == null ? null : guild.getRoleById(id);
+			}
+		},
+		EMOJI {
+			@Override
+			Object resolve(Entry entry, long id) {
+				Guild guild = entry.shard.getGuildById(entry.guild);
+				return guild == null ? null : guild.getEmojiById(id);
+			}
+		},
+		CHANNEL {
+			@Override
+			Object resolve(Entry entry, long id) {
+				return entry.shard.getGuildChannelById(id);
+			}
+		};
+
+		@Nullable
+		abstract Object resolve(Entry entry, long id);
+	}
+
+	/**
+	 * Owning shard and guild of an indexed entity.
+	 */
+	private record Entry(JDA shard, long guild, Kind kind) {}
+
+	/**
+	 * Indexed ids of a guild.
+	 */
+	private record GuildIds(JDA shard, Set<Long> ids) {
+		GuildIds(JDA shard) {
+			this(shard, ConcurrentHashMap.newKeySet());
+		}
+	}
+}
@@ -0,0 +1,377 @@
+package net.foxgenesis.springJDA.impl;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.guild.GuildAvailableEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.api.events.guild.GuildReadyEvent;
+import net.dv8tion.jda.api.events.guild.GuildUnavailableEvent;
+import net.dv8tion.jda.api.events.guild.member.GenericGuildMemberEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.session.SessionInvalidateEvent;
+import net.dv8tion.jda.api.events.session.ShutdownEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.utils.ClosableIterator;
+import net.dv8tion.jda.api.utils.cache.SnowflakeCacheView;
+
+/**
+ * Deduplicated index of the cached users of all shards.
+ * <p>
+ * Every user is stored once with a bitset of the shards caching the user.
+ * Users are added when their member is loaded or seen in an event and removed
+ * once no shard caches them anymore. Finding the user of an id does not depend
+ * on the amount of shards, while each shard keeps its own user cache.
+ * <p>
+ * JDA may evict users without an event, for example through a
+ * {@link net.dv8tion.jda.api.utils.MemberCachePolicy MemberCachePolicy}. Each
+ * lookup verifies the shards of a user and clears the shards that no longer
+ * cache it. {@link #size()} and the size of the cache view are constant time
+ * and may count evicted users until they are looked up. Users only cached
+ * through paths without an event are not indexed and callers must treat a
+ * miss as unknown.
+ *
+ * @author Ashley
+ */
+public final class UserIndex {
+	private final ListenerAdapter listener = new ListenerAdapter() {
+		@Override
+		public void onGuildReady(GuildReadyEvent event) {
+			event.getGuild().getMemberCache().forEach(member -> add(member.getIdLong(), event.getJDA()));
+		}
+
+		@Override
+		public void onGuildAvailable(GuildAvailableEvent event) {
+			// Fired instead of GuildReadyEvent when a guild recovers from an outage
+			event.getGuild().getMemberCache().forEach(member -> add(member.getIdLong(), event.getJDA()));
+		}
+
+		@Override
+		public void onGenericGuildMember(GenericGuildMemberEvent event) {
+			add(event.getMember().getIdLong(), event.getJDA());
+		}
+
+		@Override
+		public void onMessageReceived(MessageReceivedEvent event) {
+			// Members may be cached lazily when they are seen and direct message
+			// authors are cached with their private channel
+			if (!event.isFromGuild() || event.getMember() != null)
+				add(event.getAuthor().getIdLong(), event.getJDA());
+		}
+
+		@Override
+		public void onGenericInteractionCreate(GenericInteractionCreateEvent event) {
+			Member member = event.getMember();
+			if (member != null)
+				add(member.getIdLong(), event.getJDA());
+		}
+
+		@Override
+		public void onGuildMemberRemove(GuildMemberRemoveEvent event) {
+			verify(event.getUser().getIdLong(), event.getJDA());
+		}
+
+		@Override
+		public void onGuildLeave(GuildLeaveEvent event) {
+			verifyGuild(event.getGuild());
+		}
+
+		@Override
+		public void onGuildUnavailable(GuildUnavailableEvent event) {
+			verifyGuild(event.getGuild());
+		}
+
+		@Override
+		public void onSessionInvalidate(SessionInvalidateEvent event) {
+			// JDA rebuilds the cache of the shard and fires GuildReadyEvent again
+			removeShard(event.getJDA());
+		}
+
+		@Override
+		public void onShutdown(ShutdownEvent event) {
+			removeShard(event.getJDA());
+		}
+	};
+
+	private final ConcurrentLongTable<Membership> table = new ConcurrentLongTable<>(4096);
+
+	private final SnowflakeCacheView<User> cacheView = new UserCacheView();
+
+	/**
+	 * Running shards by shard id. Replaced on modification.
+	 */
+	private volatile JDA[] shards = new JDA[0];
+
+	/**
+	 * Get the event listener that must be registered on every shard.
+	 *
+	 * @return The listener maintaining this index
+	 */
+	@NonNull
+	public Object getListener() {
+		return listener;
+	}
+
+	/**
+	 * Get a cached user by id.
+	 *
+	 * @param id The id of the user
+	 *
+	 * @return The user or {@code null} if no shard caches this user
+	 */
+	@Nullable
+	public User getUser(long id) {
+		JDA shard = getShard(id);
+		return shard == null ? null : shard.getUserById(id);
+	}
+
+	/**
+	 * Get a shard caching a user. Shards that no longer cache the user are
+	 * removed from the index.
+	 *
+	 * @param id The id of the user
+	 *
+	 * @return The running shard with the lowest id caching the user or
+	 *         {@code null} if no indexed shard caches this user
+	 */
+	@Nullable
+	public JDA getShard(long id) {
+		Membership membership = table.get(id);
+		if (membership == null)
+			return null;
+		JDA[] shards = this.shards;
+		long[] bits = membership.shards;
+		for (int word = 0; word < bits.length; word++)
+			for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+				int shard = word * 64 + Long.numberOfTrailingZeros(remaining);
+				JDA jda = shard < shards.length ? shards[shard] : null;
+				if (jda != null && jda.getUserById(id) != null)
+					return jda;
+				// Evicted without an event
+				table.compute(id, current -> current == null ? null : current.without(shard));
+			}
+		return null;
+	}
+
+	/**
+	 * Get the ids of all shards caching a user.
+	 *
+	 * @param id The id of the user
+	 *
+	 * @return The shard ids in ascending order
+	 */
+	@NonNull
+	public int[] getShardIds(long id) {
+		Membership membership = table.get(id);
+		return membership == null ? new int[0] : BitSet.valueOf(membership.shards).stream().toArray();
+	}
+
+	/**
+	 * Get the amount of distinct indexed users. This includes users evicted
+	 * without an event that have not been looked up since.
+	 *
+	 * @return The size of this index
+	 */
+	public int size() {
+		return table.size();
+	}
+
+	/**
+	 * Get a cache view containing every cached user once.
+	 *
+	 * @return The deduplicated user cache of all shards
+	 */
+	@NonNull
+	public SnowflakeCacheView<User> getCacheView() {
+		return cacheView;
+	}
+
+	private void add(long user, JDA jda) {
+		int shard = jda.getShardInfo().getShardId();
+
+		// Most events are about users that are already indexed
+		Membership current = table.get(user);
+		if (current != null && current.has(shard))
+			return;
+		if (jda.getUserById(user) == null)
+			return;
+
+		putShard(shard, jda);
+		table.compute(user, membership -> membership == null ? new Membership(user, shard)
+				: membership.with(shard));
+	}
+
+	private void verify(long user, JDA jda) {
+		// The user may still be cached through another guild of the shard
+		if (jda.getUserById(user) != null)
+			return;
+		int shard = jda.getShardInfo().getShardId();
+		table.compute(user, membership -> membership == null ? null : membership.without(shard));
+	}
+
+	private void verifyGuild(Guild guild) {
+		guild.getMemberCache().forEach(member -> verify(member.getIdLong(), guild.getJDA()));
+	}
+
+	private void removeShard(JDA jda) {
+		int shard = jda.getShardInfo().getShardId();
+		table.replaceAll(membership -> membership.without(shard));
+		synchronized (this) {
+			JDA[] shards = this.shards;
+			if (shard < shards.length && shards[shard] == jda) {
+				shards = shards.clone();
+				shards[shard] = null;
+				this.shards = shards;
+			}
+		}
+	}
+
+	private synchronized void putShard(int shard, JDA jda) {
+		JDA[] shards = this.shards;
+		if (shard < shards.length && shards[shard] == jda)
+			return;
+		shards = Arrays.copyOf(shards, Math.max(shards.length, shard + 1));
+		shards[shard] = jda;
+		this.shards = shards;
+	}
+
+	private Stream<User> users() {
+		return table.values().stream().map(membership -> getUser(membership.id)).filter(Objects::nonNull);
+	}
+
+	/**
+	 * Immutable set of shards caching a user.
+	 */
+	private static final class Membership {
+		final long id;
+		final long[] shards;
+
+		Membership(long id, int shard) {
+			this(id, new long[shard / 64 + 1]);
+			shards[shard / 64] |= 1L << shard;
+		}
+
+		private Membership(long id, long[] shards) {
+			this.id = id;
+			this.shards = shards;
+		}
+
+		boolean has(int shard) {
+			int word = shard / 64;
+			return word < shards.length && (shards[word] & (1L << shard)) != 0;
+		}
+
+		Membership with(int shard) {
+			if (has(shard))
+				return this;
+			long[] bits = Arrays.copyOf(shards, Math.max(shards.length, shard / 64 + 1));
+			bits[shard / 64] |= 1L << shard;
+			return new Membership(id, bits);
+		}
+
+		@Nullable
+		Membership without(int shard) {
+			if (!has(shard))
+				return this;
+			long[] bits = shards.clone();
+			bits[shard / 64] &= ~(1L << shard);
+			for (long word : bits)
+				if (word != 0)
+					return new Membership(id, bits);
+			return null;
+		}
+	}
+
+	/**
+	 * Cache view over the index.
+	 */
+	private final class UserCacheView implements SnowflakeCacheView<User> {
+
+		@Override
+		public User getElementById(long id) {
+			return getUser(id);
+		}
+
+		@Override
+		public List<User> asList() {
+			return users().toList();
+		}
+
+		@Override
+		public Set<User> asSet() {
+			return users().collect(Collectors.toUnmodifiableSet());
+		}
+
+		@Override
+		public ClosableIterator<User> lockedIterator() {
+			Iterator<User> iterator = iterator();
+			return new ClosableIterator<>() {
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public User next() {
+					return iterator.next();
+				}
+
+				@Override
+				public void close() {}
+			};
+		}
+
+		@Override
+		public Iterator<User> iterator() {
+			return asList().iterator();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * This is the {@link UserIndex#size() size of the index}, which may count
+		 * users evicted without an event that have not been looked up since.
+		 */
+		@Override
+		public long size() {
+			return table.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return table.size() == 0;
+		}
+
+		@Override
+		public List<User> getElementsByName(String name, boolean ignoreCase) {
+			return users()
+					.filter(user -> ignoreCase ? user.getName().equalsIgnoreCase(name) : user.getName().equals(name))
+					.toList();
+		}
+
+		@Override
+		public Stream<User> stream() {
+			return users();
+		}
+
+		@Override
+		public Stream<User> parallelStream() {
+			return users().parallel();
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package net.foxgenesis.springJDA.provider;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+
+@FunctionalInterface
+public interface GuildCommandProvider {
+	Collection<? extends CommandData> getCommandData(Guild guild);
+
+	static GuildCommandProvider of(CommandData data) {
+		return guild -> List.of(data);
+	}
+
+	static GuildCommandProvider of(Set<Long> guilds, CommandData data) {
+		return guild -> guilds.contains(guild.getIdLong()) ? List.of(data) : List.of();
+	}
+}
@@ -0,0 +1,102 @@
+package net.foxgenesis.springJDA.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.Command.Subcommand;
+import net.dv8tion.jda.api.interactions.commands.Command.SubcommandGroup;
+
+class CommandIndexTest {
+
+	@Test
+	void byNamePrefersSlashCommands() {
+		Command user = command(1L, Command.Type.USER, "Info");
+		Command slash = command(2L, Command.Type.SLASH, "info");
+		Command message = command(3L, Command.Type.MESSAGE, "info");
+
+		CommandIndex index = new CommandIndex(List.of(user, slash, message));
+
+		assertThat(index.byName("INFO")).isSameAs(slash);
+		assertThat(index.byType(Command.Type.USER, "info")).isSameAs(user);
+		assertThat(index.byType(Command.Type.MESSAGE, "Info")).isSameAs(message);
+		assertThat(index.byType(Command.Type.SLASH, "missing")).isNull();
+	}
+
+	@Test
+	void byIdFindsCommands() {
+		Command ping = command(10L, Command.Type.SLASH, "ping");
+		Command pong = command(20L, Command.Type.SLASH, "pong");
+
+		CommandIndex index = new CommandIndex(List.of(ping, pong));
+
+		assertThat(index.byId(10L)).isSameAs(ping);
+		assertThat(index.byId(20L)).isSameAs(pong);
+		assertThat(index.byId(30L)).isNull();
+	}
+
+	@Test
+	void subcommandsAreFoundByFullName() {
+		Subcommand add = subcommand("role add");
+		Subcommand grant = subcommand("role perms grant");
+		SubcommandGroup perms = mock(SubcommandGroup.class);
+		when(perms.getSubcommands()).thenReturn(List.of(grant));
+
+		Command role = command(1L, Command.Type.SLASH, "role");
+		when(role.getSubcommands()).thenReturn(List.of(add));
+		when(role.getSubcommandGroups()).thenReturn(List.of(perms));
+
+		CommandIndex index = new CommandIndex(List.of(role));
+
+		assertThat(index.subcommand("Role Add")).isSameAs(add);
+		assertThat(index.subcommand("role perms grant")).isSameAs(grant);
+		assertThat(index.subcommand("role remove")).isNull();
+	}
+
+	@Test
+	void completeIndexRoutesItsCommands() {
+		Command ping = command(10L, Command.Type.SLASH, "ping");
+		Command user = command(20L, Command.Type.USER, "Profile");
+
+		CommandIndex index = new CommandIndex(List.of(ping, user));
+
+		assertThat(index.isComplete()).isTrue();
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.ids()).containsExactlyInAnyOrder(10L, 20L);
+		assertThat(index.route(Command.Type.SLASH, "PING")).isEqualTo(new CommandRoute(10L, Command.Type.SLASH, "ping"));
+		assertThat(index.route(Command.Type.USER, "ping")).isNull();
+	}
+
+	@Test
+	void routeIndexHasNoCommandEntities() {
+		CommandIndex index = CommandIndex.ofRoutes(List.of(new CommandRoute(10L, Command.Type.SLASH, "ping"),
+				new CommandRoute(20L, Command.Type.MESSAGE, "ping")));
+
+		assertThat(index.isComplete()).isFalse();
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.ids()).containsExactlyInAnyOrder(10L, 20L);
+		assertThat(index.route(Command.Type.MESSAGE, "Ping").id()).isEqualTo(20L);
+		assertThat(index.commands()).isEmpty();
+		assertThat(index.byName("ping")).isNull();
+		assertThat(index.byId(10L)).isNull();
+	}
+
+	private static Command command(long id, Command.Type type, String name) {
+		Command command = mock(Command.class);
+		when(command.getIdLong()).thenReturn(id);
+		when(command.getType()).thenReturn(type);
+		when(command.getName()).thenReturn(name);
+		return command;
+	}
+
+	private static Subcommand subcommand(String fullCommandName) {
+		Subcommand subcommand = mock(Subcommand.class);
+		when(subcommand.getFullCommandName()).thenReturn(fullCommandName);
+		return subcommand;
+	}
+}
@@ -0,0 +1,108 @@
+package net.foxgenesis.springJDA.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.DefaultMemberPermissions;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.localization.LocalizationMap;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.requests.restaction.CommandEditAction;
+import net.foxgenesis.springJDA.SpringJDA;
+
+class CommandSyncTest {
+	private final SpringJDA jda = mock(SpringJDA.class);
+
+	private CompletableFuture<Void> deleted;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		deleted = new CompletableFuture<>();
+		RestAction<Void> delete = mock(RestAction.class);
+		when(delete.submit()).thenAnswer(invocation -> deleted);
+		when(jda.deleteCommandById(anyLong())).thenReturn(delete);
+	}
+
+	@Test
+	void sameCommandsAreDetected() {
+		Command ping = command(1L, "ping", "Ping");
+
+		assertThat(CommandSync.isSame(List.of(ping), List.of(Commands.slash("ping", "Ping")))).isTrue();
+		assertThat(CommandSync.isSame(List.of(ping), List.of(Commands.slash("ping", "Pong")))).isFalse();
+		assertThat(CommandSync.isSame(List.of(ping), List.of())).isFalse();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void commandsAreCreatedEditedAndDeleted() {
+		Command unchanged = command(1L, "ping", "Ping");
+		Command edited = command(2L, "info", "Old");
+		Command removed = command(3L, "old", "Old");
+		Command created = command(4L, "new", "New");
+		Command updated = command(2L, "info", "New");
+
+		RestAction<Command> upsert = mock(RestAction.class);
+		when(upsert.submit()).thenReturn(CompletableFuture.completedFuture(created));
+		when(jda.upsertCommand(any(CommandData.class))).thenReturn(upsert);
+
+		CommandEditAction edit = mock(CommandEditAction.class);
+		when(edit.apply(any(CommandData.class))).thenReturn(edit);
+		when(edit.submit()).thenReturn(CompletableFuture.completedFuture(updated));
+		when(jda.editCommandById(2L)).thenReturn(edit);
+
+		CompletableFuture<List<Command>> result = new CommandSync(jda, 4).apply(
+				List.of(unchanged, edited, removed), List.of(Commands.slash("ping", "Ping"),
+						Commands.slash("info", "New"), Commands.slash("new", "New")));
+
+		// Creates and edits wait for the deletes
+		verify(jda).deleteCommandById(3L);
+		verify(jda, never()).upsertCommand(any(CommandData.class));
+		verify(jda, never()).editCommandById(anyLong());
+
+		deleted.complete(null);
+
+		verify(jda).upsertCommand(any(CommandData.class));
+		verify(jda).editCommandById(2L);
+		verify(jda, never()).editCommandById(1L);
+		assertThat(result).isCompleted();
+		assertThat(result.join()).containsExactlyInAnyOrder(unchanged, updated, created);
+	}
+
+	@Test
+	void unchangedCommandsSendNoRequests() {
+		Command ping = command(1L, "ping", "Ping");
+
+		CompletableFuture<List<Command>> result = new CommandSync(jda, 4).apply(List.of(ping),
+				List.of(Commands.slash("ping", "Ping")));
+
+		assertThat(result).isCompletedWithValue(List.of(ping));
+		verify(jda, never()).deleteCommandById(anyLong());
+		verify(jda, never()).upsertCommand(any(CommandData.class));
+	}
+
+	private static Command command(long id, String name, String description) {
+		Command command = mock(Command.class);
+		when(command.getIdLong()).thenReturn(id);
+		when(command.getType()).thenReturn(Command.Type.SLASH);
+		when(command.getName()).thenReturn(name);
+		when(command.getDescription()).thenReturn(description);
+		when(command.getNameLocalizations()).thenReturn(new LocalizationMap(error -> {}));
+		when(command.getDescriptionLocalizations()).thenReturn(new LocalizationMap(error -> {}));
+		when(command.getDefaultPermissions()).thenReturn(DefaultMemberPermissions.ENABLED);
+		return command;
+	}
+}
@@ -0,0 +1,175 @@
+package net.foxgenesis.springJDA.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentLongTableTest {
+
+	@Test
+	void getReturnsPutValues() {
+		ConcurrentLongTable<String> table = new ConcurrentLongTable<>(4);
+		table.put(1L, "a");
+		table.put(0L, "zero");
+		table.put(-1L, "b");
+
+		assertThat(table.get(1L)).isEqualTo("a");
+		assertThat(table.get(0L)).isEqualTo("zero");
+		assertThat(table.get(-1L)).isEqualTo("b");
+		assertThat(table.get(2L)).isNull();
+		assertThat(table.size()).isEqualTo(3);
+	}
+
+	@Test
+	void putReplacesExistingKey() {
+		ConcurrentLongTable<String> table = new ConcurrentLongTable<>(4);
+		table.put(42L, "a");
+		table.put(42L, "b");
+
+		assertThat(table.get(42L)).isEqualTo("b");
+		assertThat(table.size()).isEqualTo(1);
+	}
+
+	@Test
+	void removeLeavesOtherKeysReachable() {
+		ConcurrentLongTable<Long> table = new ConcurrentLongTable<>(64);
+		for (long key = 0; key < 20; key++)
+			table.put(key, key);
+
+		// Removed entries must not end the probe sequence of other keys
+		for (long key = 0; key < 20; key += 2)
+			table.remove(key);
+
+		for (long key = 0; key < 20; key++)
+			assertThat(table.get(key)).isEqualTo(key % 2 == 0 ? null : key);
+		assertThat(table.size()).isEqualTo(10);
+	}
+
+	@Test
+	void removeOfMissingKeyIsIgnored() {
+		ConcurrentLongTable<String> table = new ConcurrentLongTable<>(4);
+		table.put(1L, "a");
+		table.remove(2L);
+
+		assertThat(table.get(1L)).isEqualTo("a");
+		assertThat(table.size()).isEqualTo(1);
+	}
+
+	@Test
+	void putReusesRemovedSlots() {
+		ConcurrentLongTable<Long> table = new ConcurrentLongTable<>(4);
+		for (int round = 0; round < 1000; round++) {
+			table.put(7L, (long) round);
+			table.remove(7L);
+		}
+		table.put(7L, 7L);
+
+		assertThat(table.get(7L)).isEqualTo(7L);
+		assertThat(table.size()).isEqualTo(1);
+	}
+
+	@Test
+	void resizeKeepsAllEntries() {
+		long base = 1_200_000_000_000_000_000L;
+		ConcurrentLongTable<Long> table = new ConcurrentLongTable<>(2);
+		for (long i = 0; i < 10_000; i++)
+			table.put(base + i, i);
+
+		for (long i = 0; i < 10_000; i++)
+			assertThat(table.get(base + i)).isEqualTo(i);
+		assertThat(table.size()).isEqualTo(10_000);
+		assertThat(table.values()).hasSize(10_000);
+	}
+
+	@Test
+	void lookupMissTerminatesAfterChurn() {
+		// Every key is removed again, leaving only removed entries behind
+		ConcurrentLongTable<Long> table = new ConcurrentLongTable<>(4);
+		for (long key = 0; key < 10_000; key++) {
+			table.put(key, key);
+			table.remove(key);
+		}
+
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThat(table.get(-42L)).isNull());
+		assertThat(table.size()).isZero();
+		assertThat(table.values()).isEmpty();
+	}
+
+	@Test
+	void removeIfRemovesMatchingValues() {
+		ConcurrentLongTable<Long> table = new ConcurrentLongTable<>(4);
+		for (long key = 0; key < 100; key++)
+			table.put(key, key);
+
+		table.removeIf(value -> value % 3 == 0);
+
+		for (long key = 0; key < 100; key++)
+			assertThat(table.get(key)).isEqualTo(key % 3 == 0 ? null : key);
+		assertThat(table.size()).isEqualTo(66);
+	}
+
+	@Test
+	void computeAddsUpdatesAndRemoves() {
+		ConcurrentLongTable<Integer> table = new ConcurrentLongTable<>(4);
+
+		table.compute(5L, value -> value == null ? 1 : value + 1);
+		assertThat(table.get(5L)).isEqualTo(1);
+
+		table.compute(5L, value -> value == null ? 1 : value + 1);
+		assertThat(table.get(5L)).isEqualTo(2);
+
+		table.compute(5L, value -> null);
+		assertThat(table.get(5L)).isNull();
+		assertThat(table.size()).isZero();
+
+		// Removing a missing key does not change the table
+		table.compute(6L, value -> null);
+		assertThat(table.size()).isZero();
+	}
+
+	@Test
+	void replaceAllUpdatesAndRemoves() {
+		ConcurrentLongTable<Long> table = new ConcurrentLongTable<>(4);
+		for (long key = 0; key < 10; key++)
+			table.put(key, key);
+
+		table.replaceAll(value -> value < 5 ? null : value * 10);
+
+		for (long key = 0; key < 10; key++)
+			assertThat(table.get(key)).isEqualTo(key < 5 ? null : key * 10);
+		assertThat(table.size()).isEqualTo(5);
+	}
+
+	@Test
+	void readersSeeStableKeysWhileWriting() throws InterruptedException {
+		ConcurrentLongTable<Long> table = new ConcurrentLongTable<>(2);
+		for (long key = 0; key < 100; key++)
+			table.put(key, key);
+
+		AtomicBoolean missing = new AtomicBoolean();
+		CountDownLatch done = new CountDownLatch(1);
+		Thread reader = new Thread(() -> {
+			while (done.getCount() > 0)
+				for (long key = 0; key < 100; key++)
+					if (table.get(key) == null)
+						missing.set(true);
+		});
+		reader.start();
+
+		// Grow and churn the table while the stable keys are read
+		for (long key = 1000; key < 50_000; key++) {
+			table.put(key, key);
+			if (key % 2 == 0)
+				table.remove(key);
+		}
+		done.countDown();
+		reader.join();
+
+		assertThat(missing).isFalse();
+	}
+}
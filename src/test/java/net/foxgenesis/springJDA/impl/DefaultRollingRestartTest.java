@@ -0,0 +1,55 @@
+package net.foxgenesis.springJDA.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.dv8tion.jda.api.sharding.ShardManager;
+
+class DefaultRollingRestartTest {
+	private final ShardManager manager = mock(ShardManager.class);
+
+	@BeforeEach
+	void setUp() {
+		when(manager.getShardsTotal()).thenReturn(4);
+	}
+
+	@Test
+	void shardIdsOutOfRangeAreRejected() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new DefaultRollingRestart(manager, List.of(0, 4), 1, null));
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new DefaultRollingRestart(manager, List.of(-1), 1, null));
+	}
+
+	@Test
+	void failedRestartFailsTheRollingRestart() {
+		IllegalStateException error = new IllegalStateException("restart failed");
+		doThrow(error).when(manager).restart(1);
+
+		DefaultRollingRestart restart = new DefaultRollingRestart(manager, List.of(1, 2), 1, null);
+		restart.start();
+
+		assertThat(restart.isDone()).isTrue();
+		assertThat(restart.whenComplete().toCompletableFuture()).isCompletedExceptionally();
+		verify(manager).removeEventListener(restart);
+	}
+
+	@Test
+	void waveTimeoutFailsTheRollingRestart() {
+		DefaultRollingRestart restart = new DefaultRollingRestart(manager, List.of(0), 1, Duration.ofMillis(10));
+		restart.start();
+
+		assertThat(restart.whenComplete().toCompletableFuture()).failsWithin(Duration.ofSeconds(5));
+		verify(manager).restart(0);
+	}
+}
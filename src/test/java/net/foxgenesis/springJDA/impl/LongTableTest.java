@@ -0,0 +1,79 @@
+package net.foxgenesis.springJDA.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class LongTableTest {
+
+	@Test
+	void getReturnsPutValues() {
+		LongTable<String> table = new LongTable<>(3);
+		table.put(1L, "a");
+		table.put(-1L, "b");
+		table.put(Long.MIN_VALUE, "c");
+
+		assertThat(table.get(1L)).isEqualTo("a");
+		assertThat(table.get(-1L)).isEqualTo("b");
+		assertThat(table.get(Long.MIN_VALUE)).isEqualTo("c");
+		assertThat(table.size()).isEqualTo(3);
+	}
+
+	@Test
+	void putReplacesExistingKey() {
+		LongTable<String> table = new LongTable<>(1);
+		table.put(42L, "a");
+		table.put(42L, "b");
+
+		assertThat(table.get(42L)).isEqualTo("b");
+		assertThat(table.size()).isEqualTo(1);
+	}
+
+	@Test
+	void zeroKeyIsNotConfusedWithEmptySlots() {
+		LongTable<String> table = new LongTable<>(1);
+		assertThat(table.get(0L)).isNull();
+
+		table.put(0L, "zero");
+		assertThat(table.get(0L)).isEqualTo("zero");
+	}
+
+	@Test
+	void lookupMissTerminatesOnFullestTable() {
+		// Capacity 8, one slot always stays empty
+		LongTable<Long> table = new LongTable<>(4);
+		for (long key = 1; key <= 7; key++)
+			table.put(key << 22, key);
+
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThat(table.get(123456789L)).isNull());
+		for (long key = 1; key <= 7; key++)
+			assertThat(table.get(key << 22)).isEqualTo(key);
+	}
+
+	@Test
+	void putIntoFullTableFails() {
+		LongTable<Long> table = new LongTable<>(4);
+		for (long key = 1; key <= 7; key++)
+			table.put(key, key);
+
+		assertThatIllegalStateException().isThrownBy(() -> table.put(8L, 8L));
+	}
+
+	@Test
+	void findsSnowflakesSharingUpperBits() {
+		// Snowflakes created within the same millisecond only differ in their lower bits
+		long base = 1_200_000_000_000_000_000L;
+		LongTable<Long> table = new LongTable<>(1000);
+		for (long i = 0; i < 1000; i++)
+			table.put(base + i, i);
+
+		for (long i = 0; i < 1000; i++)
+			assertThat(table.get(base + i)).isEqualTo(i);
+		assertThat(table.get(base + 1000)).isNull();
+		assertThat(table.size()).isEqualTo(1000);
+	}
+}
@@ -0,0 +1,127 @@
+package net.foxgenesis.springJDA.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.JDA.Status;
+import net.dv8tion.jda.api.events.StatusChangeEvent;
+import net.dv8tion.jda.api.events.session.ReadyEvent;
+
+class ReadinessTrackerTest {
+	private final List<JDA> readyShards = new ArrayList<>();
+
+	private ReadinessTracker tracker;
+
+	@BeforeEach
+	void setUp() {
+		readyShards.clear();
+		tracker = new ReadinessTracker(readyShards::add);
+	}
+
+	@Test
+	void futuresCompleteOnceAllExpectedShardsAreReady() {
+		JDA first = shard(0, 2);
+		JDA second = shard(1, 2);
+		tracker.expect(2);
+
+		tracker.onStatusChange(status(first, Status.LOGGING_IN));
+		assertThat(tracker.getSemiReady()).isCompleted();
+		assertThat(tracker.getAllCreated()).isNotDone();
+
+		tracker.onStatusChange(status(second, Status.LOGGING_IN));
+		assertThat(tracker.getAllCreated()).isCompleted();
+
+		tracker.onReady(ready(first));
+		assertThat(tracker.getReady()).isNotDone();
+		assertThat(tracker.getShardsReady()).isEqualTo(1);
+
+		tracker.onReady(ready(second));
+		assertThat(tracker.getReady()).isCompleted();
+		assertThat(readyShards).containsExactly(first, second);
+	}
+
+	@Test
+	void shardsBeforeExpectAreCounted() {
+		JDA jda = shard(0, 1);
+		tracker.onStatusChange(status(jda, Status.LOGGING_IN));
+		tracker.onReady(ready(jda));
+		assertThat(tracker.getReady()).isNotDone();
+
+		tracker.expect(1);
+		assertThat(tracker.getAllCreated()).isCompleted();
+		assertThat(tracker.getReady()).isCompleted();
+	}
+
+	@Test
+	void repeatedReadyEventsAreIgnored() {
+		JDA jda = shard(0, 2);
+		tracker.expect(2);
+
+		tracker.onReady(ready(jda));
+		tracker.onReady(ready(jda));
+
+		assertThat(tracker.getShardsReady()).isEqualTo(1);
+		assertThat(tracker.getReady()).isNotDone();
+		assertThat(readyShards).containsExactly(jda);
+	}
+
+	@Test
+	void connectedShardCanBeMarkedReady() {
+		JDA jda = shard(0, 1);
+		tracker.expect(1);
+		tracker.markReady(jda);
+
+		assertThat(tracker.getSemiReady()).isCompleted();
+		assertThat(tracker.getAllCreated()).isCompleted();
+		assertThat(tracker.getReady()).isCompleted();
+		assertThat(readyShards).containsExactly(jda);
+	}
+
+	@Test
+	void failedLoginFailsAllFutures() {
+		tracker.expect(1);
+		tracker.onStatusChange(status(shard(0, 1), Status.FAILED_TO_LOGIN));
+
+		assertThat(tracker.getSemiReady()).isCompletedExceptionally();
+		assertThat(tracker.getAllCreated()).isCompletedExceptionally();
+		assertThat(tracker.getReady()).isCompletedExceptionally();
+	}
+
+	@Test
+	void resetStartsNewFutures() {
+		JDA jda = shard(0, 1);
+		tracker.expect(1);
+		tracker.markReady(jda);
+
+		tracker.reset();
+
+		assertThat(tracker.getReady()).isNotDone();
+		assertThat(tracker.getShardsReady()).isZero();
+		tracker.expect(1);
+		assertThat(tracker.getReady()).isNotDone();
+	}
+
+	private static JDA shard(int id, int total) {
+		JDA jda = mock(JDA.class);
+		when(jda.getShardInfo()).thenReturn(new JDA.ShardInfo(id, total));
+		return jda;
+	}
+
+	private static StatusChangeEvent status(JDA jda, Status status) {
+		return new StatusChangeEvent(jda, status, Status.INITIALIZED);
+	}
+
+	private static ReadyEvent ready(JDA jda) {
+		ReadyEvent event = mock(ReadyEvent.class);
+		when(event.getJDA()).thenReturn(jda);
+		return event;
+	}
+}
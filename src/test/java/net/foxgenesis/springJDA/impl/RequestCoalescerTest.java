@@ -0,0 +1,146 @@
+package net.foxgenesis.springJDA.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.foxgenesis.springJDA.impl.RequestCoalescer.Lookup;
+
+class RequestCoalescerTest {
+	private final JDA jda = mock(JDA.class);
+
+	private RequestCoalescer coalescer;
+
+	private CompletableFuture<String> response;
+
+	private AtomicInteger sent;
+
+	@BeforeEach
+	void setUp() {
+		coalescer = new RequestCoalescer();
+		response = new CompletableFuture<>();
+		sent = new AtomicInteger();
+	}
+
+	@Test
+	void concurrentLookupsShareOneRequest() {
+		CompletableFuture<String> first = lookup(1L).submit();
+		CompletableFuture<String> second = lookup(1L).submit();
+
+		assertThat(sent).hasValue(1);
+		assertThat(coalescer.getExecuted(Lookup.USER)).isEqualTo(1);
+		assertThat(coalescer.getCoalesced(Lookup.USER)).isEqualTo(1);
+		assertThat(coalescer.getInFlight()).isEqualTo(1);
+
+		response.complete("user");
+
+		assertThat(first).isCompletedWithValue("user");
+		assertThat(second).isCompletedWithValue("user");
+		assertThat(coalescer.getInFlight()).isZero();
+	}
+
+	@Test
+	void differentIdsAreNotShared() {
+		lookup(1L).submit();
+		lookup(2L).submit();
+
+		assertThat(sent).hasValue(2);
+		assertThat(coalescer.getCoalesced(Lookup.USER)).isZero();
+	}
+
+	@Test
+	void lookupAfterCompletionSendsNewRequest() {
+		RestAction<String> action = lookup(1L);
+		action.submit();
+		response.complete("old");
+
+		response = new CompletableFuture<>();
+		CompletableFuture<String> next = action.submit();
+
+		assertThat(sent).hasValue(2);
+		assertThat(next).isNotDone();
+		response.complete("new");
+		assertThat(next).isCompletedWithValue("new");
+	}
+
+	@Test
+	void cancellingOneLookupDoesNotCancelOthers() {
+		CompletableFuture<String> first = lookup(1L).submit();
+		CompletableFuture<String> second = lookup(1L).submit();
+
+		first.cancel(true);
+		response.complete("user");
+
+		assertThat(first).isCancelled();
+		assertThat(second).isCompletedWithValue("user");
+	}
+
+	@Test
+	void failuresReachAllLookups() {
+		RestAction<String> action = lookup(1L);
+		CompletableFuture<String> first = action.submit();
+		CompletableFuture<String> second = action.submit();
+
+		IllegalArgumentException error = new IllegalArgumentException("unknown user");
+		response.completeExceptionally(error);
+
+		assertThat(first).isCompletedExceptionally();
+		assertThat(second).isCompletedExceptionally();
+		assertThat(coalescer.getInFlight()).isZero();
+
+		// complete() rethrows the cause of the shared failure
+		response = CompletableFuture.failedFuture(error);
+		assertThatIllegalArgumentException().isThrownBy(action::complete).isSameAs(error);
+	}
+
+	@Test
+	void completeFailsInsideCallbacks() {
+		RestAction<String> action = lookup(1L);
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		action.queue(user -> {
+			try {
+				action.complete();
+			} catch (IllegalStateException e) {
+				error.set(e);
+			}
+		});
+
+		response.complete("user");
+
+		assertThat(error.get()).isInstanceOf(IllegalStateException.class);
+		// Outside of callbacks complete() still works
+		response = CompletableFuture.completedFuture("user");
+		assertThat(action.complete()).isEqualTo("user");
+	}
+
+	@Test
+	void failingSupplierDoesNotLeakInFlightRequests() {
+		IllegalStateException error = new IllegalStateException("no shards");
+		CompletableFuture<Object> future = coalescer.coalesce(jda, Lookup.APPLICATION_INFO, "info", () -> {
+			throw error;
+		}).submit();
+
+		assertThat(future).isCompletedExceptionally();
+		assertThat(coalescer.getInFlight()).isZero();
+	}
+
+	private RestAction<String> lookup(long id) {
+		return coalescer.coalesce(jda, Lookup.USER, id, () -> {
+			sent.incrementAndGet();
+			@SuppressWarnings("unchecked")
+			RestAction<String> action = mock(RestAction.class);
+			when(action.submit()).thenReturn(response);
+			return action;
+		});
+	}
+}